@@ -92,6 +92,11 @@ public class ExpressionFactoryImpl extends ExpressionFactory {
             throw new NullPointerException(MessageFactory.get("error.value.expectedType"));
         }
 
+        // Literal text needs neither parsing nor the mappers of the context
+        if (ValueExpressionLiteralText.isLiteralText(expression)) {
+            return new ValueExpressionLiteralText(context, expression, expectedType);
+        }
+
         return new ExpressionBuilder(expression, context).createValueExpression(expectedType);
     }
 
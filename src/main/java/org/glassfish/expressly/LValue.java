@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly;
+
+import org.glassfish.expressly.lang.ELSupport;
+import org.glassfish.expressly.lang.EvaluationContext;
+import org.glassfish.expressly.parser.Node;
+
+import jakarta.el.ELException;
+import jakarta.el.ELResolver;
+import jakarta.el.PropertyNotFoundException;
+import jakarta.el.PropertyNotWritableException;
+
+/**
+ * The lvalue of a {@link ValueExpressionImpl}, resolved once for an <code>ELContext</code>.
+ *
+ * <p>
+ * For an expression of the form <code>a.b.c</code> or <code>a.b[c]</code>, the base <code>a.b</code> and the property
+ * <code>c</code> are evaluated when the lvalue is created, and the type and the read-only flag of the property are
+ * resolved the first time they are needed and then kept. This lets a caller that queries the type, checks whether the
+ * property is writable and then sets a value, such as the update model phase of a form, do so with a single evaluation
+ * of the expression.
+ *
+ * <p>
+ * Other expressions, such as a single identifier, are evaluated again by each operation, as an identifier can refer to
+ * a variable or a Lambda argument rather than to an <code>ELResolver</code> property.
+ *
+ * <p>
+ * An lvalue is only meant to be used with the <code>ELContext</code> it was created for, while the objects it refers to
+ * do not change, and from a single thread.
+ *
+ * @see ValueExpressionImpl#getLValue
+ */
+public final class LValue {
+
+    private final ValueExpressionImpl expression;
+    private final EvaluationContext ctx;
+    private final Node node;
+    private final Object base;
+    private final Object property;
+
+    private Class<?> type;
+    private boolean typeResolved;
+    private boolean typeLookedUp;
+
+    private Boolean readOnly;
+
+    LValue(ValueExpressionImpl expression, EvaluationContext ctx, Object base, Object property) {
+        this.expression = expression;
+        this.ctx = ctx;
+        this.node = null;
+        this.base = base;
+        this.property = property;
+    }
+
+    LValue(ValueExpressionImpl expression, EvaluationContext ctx, Node node) {
+        this.expression = expression;
+        this.ctx = ctx;
+        this.node = node;
+        this.base = null;
+        this.property = null;
+    }
+
+    /**
+     * @return the object on which the property is resolved, or <code>null</code> if the lvalue is not a property of an
+     * object
+     */
+    public Object getBase() {
+        return base;
+    }
+
+    /**
+     * @return the property, or <code>null</code> if the lvalue is not a property of an object
+     */
+    public Object getProperty() {
+        return property;
+    }
+
+    /**
+     * @return the type of the lvalue
+     * @throws PropertyNotFoundException if the property cannot be resolved
+     * @throws ELException if an exception was thrown while resolving the property
+     * @see ValueExpressionImpl#getType
+     */
+    public Class<?> getType() throws PropertyNotFoundException, ELException {
+        if (node != null) {
+            return node.getType(ctx);
+        }
+
+        lookUpType();
+        if (!typeResolved) {
+            ELSupport.throwUnhandled(base, property);
+        }
+
+        return type;
+    }
+
+    /**
+     * @return <code>true</code> if the lvalue cannot be set
+     * @throws PropertyNotFoundException if the property cannot be resolved
+     * @throws ELException if an exception was thrown while resolving the property
+     * @see ValueExpressionImpl#isReadOnly
+     */
+    public boolean isReadOnly() throws PropertyNotFoundException, ELException {
+        if (node != null) {
+            return node.isReadOnly(ctx);
+        }
+
+        if (readOnly == null) {
+            ctx.setPropertyResolved(false);
+            boolean isReadOnly = ctx.getELResolver().isReadOnly(ctx, base, property);
+            if (!ctx.isPropertyResolved()) {
+                ELSupport.throwUnhandled(base, property);
+            }
+            readOnly = isReadOnly;
+        }
+
+        return readOnly;
+    }
+
+    /**
+     * Sets the lvalue, after coercing the value to the type of the property.
+     *
+     * @param value the value to set
+     * @throws PropertyNotFoundException if the property cannot be resolved
+     * @throws PropertyNotWritableException if the property is read only
+     * @throws ELException if an exception was thrown while setting the property
+     * @see ValueExpressionImpl#setValue
+     */
+    public void setValue(Object value) throws PropertyNotFoundException, PropertyNotWritableException, ELException {
+        if (node != null) {
+            node.setValue(ctx, value);
+            return;
+        }
+
+        lookUpType();
+        if (typeResolved) {
+            value = ELSupport.coerceToPropertyType(ctx, value, type);
+        }
+
+        ctx.setPropertyResolved(false);
+        ctx.getELResolver().setValue(ctx, base, property, value);
+        if (!ctx.isPropertyResolved()) {
+            ELSupport.throwUnhandled(base, property);
+        }
+    }
+
+    private void lookUpType() {
+        if (typeLookedUp) {
+            return;
+        }
+
+        ELResolver resolver = ctx.getELResolver();
+        Class<?> propertyType = expression.getCachedPropertyType(resolver, base, property);
+        if (propertyType != null) {
+            type = propertyType;
+            typeResolved = true;
+        } else {
+            ctx.setPropertyResolved(false);
+            type = resolver.getType(ctx, base, property);
+            typeResolved = ctx.isPropertyResolved();
+            if (typeResolved) {
+                expression.cachePropertyType(resolver, base, property, type);
+            }
+        }
+
+        typeLookedUp = true;
+    }
+}
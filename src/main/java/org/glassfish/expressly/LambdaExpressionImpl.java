@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.expressly.lang.EvaluationContext;
+import org.glassfish.expressly.lang.LambdaFrame;
+import org.glassfish.expressly.parser.Node;
+import org.glassfish.expressly.util.MessageFactory;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.FunctionMapper;
+import jakarta.el.LambdaExpression;
+import jakarta.el.VariableMapper;
+
+/**
+ * A <code>LambdaExpression</code> created by evaluating a Lambda expression in an EL expression.
+ *
+ * <p>
+ * The parts that only depend on the parsed expression, the formal parameters and the body, are kept in a
+ * {@link Template} that is created once per parsed Lambda expression. An instance of this class only adds the state of
+ * the closure: the mappers of the enclosing expression and the frame that was current when it was created.
+ *
+ * <p>
+ * The arguments of an invocation are kept in a {@link LambdaFrame}, from which the references to the Lambda parameters
+ * in the body are read by position. The frame that was current when this Lambda expression was created is kept as the
+ * parent of each of its frames, so that the body can read the arguments of the enclosing Lambda expressions.
+ */
+public final class LambdaExpressionImpl extends LambdaExpression {
+
+    private static final String EXPRESSION_STRING = "#{Lambda Expression}";
+
+    /**
+     * The formal parameters and the body of a parsed Lambda expression.
+     */
+    public static final class Template {
+
+        private final List<String> parameters;
+        private final String[] parameterNames;
+        private final Node body;
+
+        public Template(List<String> parameters, Node body) {
+            this.parameters = Collections.unmodifiableList(parameters);
+            this.parameterNames = parameters.toArray(new String[parameters.size()]);
+            this.body = body;
+        }
+
+        public List<String> getParameters() {
+            return parameters;
+        }
+    }
+
+    private final Template template;
+    private final FunctionMapper functionMapper;
+    private final VariableMapper variableMapper;
+    private final LambdaFrame enclosingFrame;
+
+    // Arguments captured when this Lambda expression was returned by another one
+    private Map<String, Object> environment;
+
+    /**
+     * @param template the parameters and the body
+     * @param functionMapper the function mapper of the enclosing expression
+     * @param variableMapper the variable mapper of the enclosing expression
+     * @param enclosingFrame the frame of the enclosing Lambda expression invocation, or <code>null</code>
+     */
+    public LambdaExpressionImpl(Template template, FunctionMapper functionMapper, VariableMapper variableMapper, LambdaFrame enclosingFrame) {
+        // The body is evaluated here, the ValueExpression of the super class is never used
+        super(template.parameters, null);
+        this.template = template;
+        this.functionMapper = functionMapper;
+        this.variableMapper = variableMapper;
+        this.enclosingFrame = enclosingFrame;
+    }
+
+    @Override
+    public Object invoke(ELContext elContext, Object... args) throws ELException {
+        String[] parameters = template.parameterNames;
+        int argCount = args == null ? 0 : args.length;
+        if (argCount < parameters.length) {
+            throw new ELException(MessageFactory.get("error.lambda.argument.missing", parameters[argCount]));
+        }
+
+        Object[] values = new Object[parameters.length];
+        if (values.length > 0) {
+            System.arraycopy(args, 0, values, 0, values.length);
+        }
+
+        LambdaFrame frame = new LambdaFrame(enclosingFrame, parameters, values, environment == null ? null : new HashMap<>(environment));
+        elContext.enterLambdaScope(frame);
+        try {
+            Object result = evaluate(EvaluationContext.bind(elContext, functionMapper, variableMapper).withLambdaFrame(frame));
+            if (result instanceof LambdaExpressionImpl) {
+                // A Lambda expression returned from another one sees the arguments of the latter
+                ((LambdaExpressionImpl) result).capture(frame);
+            }
+
+            return result;
+        } finally {
+            elContext.exitLambdaScope();
+        }
+    }
+
+    private Object evaluate(EvaluationContext ctx) {
+        if (!ctx.hasEvaluationListeners()) {
+            return template.body.getValue(ctx);
+        }
+
+        ctx.notifyBeforeEvaluation(EXPRESSION_STRING);
+        Object value = template.body.getValue(ctx);
+        ctx.notifyAfterEvaluation(EXPRESSION_STRING);
+
+        return value;
+    }
+
+    private void capture(Map<String, Object> arguments) {
+        if (environment == null) {
+            environment = new HashMap<>();
+        }
+
+        environment.putAll(arguments);
+    }
+}
@@ -28,6 +28,9 @@ import java.io.ObjectOutput;
 
 import org.glassfish.expressly.lang.EvaluationContext;
 import org.glassfish.expressly.lang.ExpressionBuilder;
+import org.glassfish.expressly.lang.ParsedExpression;
+import org.glassfish.expressly.parser.AstValue;
+import org.glassfish.expressly.parser.AstValue.ResolvedMethodInfo;
 import org.glassfish.expressly.parser.Node;
 
 import jakarta.el.ELContext;
@@ -86,6 +89,12 @@ public final class MethodExpressionImpl extends MethodExpression implements Exte
 
     private transient Node node;
 
+    // The cached parse of the expression, held so that it stays cached while the expression is in use
+    private transient ParsedExpression parsed;
+
+    // The MethodInfo resolved on the class of the last receiver
+    private transient volatile ResolvedMethodInfo resolvedMethodInfo;
+
     public MethodExpressionImpl() {
         super();
     }
@@ -108,6 +117,20 @@ public final class MethodExpressionImpl extends MethodExpression implements Exte
         this.paramTypes = paramTypes;
     }
 
+    /**
+     * @param expr the expression
+     * @param parsed the cached parse of the expression
+     * @param fnMapper the function mapper
+     * @param varMapper the variable mapper
+     * @param expectedType expected return type of method
+     * @param paramTypes the method parameters
+     */
+    public MethodExpressionImpl(String expr, ParsedExpression parsed, FunctionMapper fnMapper, VariableMapper varMapper, Class<?> expectedType,
+            Class<?>[] paramTypes) {
+        this(expr, parsed.getNode(), fnMapper, varMapper, expectedType, paramTypes);
+        this.parsed = parsed;
+    }
+
     /**
      * Determines whether the specified object is equal to this <code>Expression</code>.
      *
@@ -130,9 +153,15 @@ public final class MethodExpressionImpl extends MethodExpression implements Exte
      */
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
         if (obj instanceof MethodExpressionImpl) {
+            // Expressions parsed from the same string share their node
             MethodExpressionImpl methodExpressionImpl = (MethodExpressionImpl) obj;
-            return getNode().equals(methodExpressionImpl.getNode());
+            Node otherNode = methodExpressionImpl.getNode();
+            return getNode() == otherNode || getNode().equals(otherNode);
         }
 
         return false;
@@ -178,12 +207,25 @@ public final class MethodExpressionImpl extends MethodExpression implements Exte
      */
     @Override
     public MethodInfo getMethodInfo(ELContext context) throws PropertyNotFoundException, MethodNotFoundException, ELException {
-        return getNode().getMethodInfo(new EvaluationContext(context, functionMapper, variableMapper), paramTypes);
+        Node node = getNode();
+        EvaluationContext ctx = EvaluationContext.bind(context, functionMapper, variableMapper);
+        if (node instanceof AstValue) {
+            ResolvedMethodInfo methodInfo = ((AstValue) node).getMethodInfo(ctx, paramTypes, resolvedMethodInfo);
+            resolvedMethodInfo = methodInfo;
+
+            return methodInfo.getMethodInfo();
+        }
+
+        return node.getMethodInfo(ctx, paramTypes);
     }
 
     @Override
     public MethodReference getMethodReference(ELContext context) {
-        EvaluationContext ctx = new EvaluationContext(context, functionMapper, variableMapper);
+        EvaluationContext ctx = EvaluationContext.bind(context, functionMapper, variableMapper);
+        if (!ctx.hasEvaluationListeners()) {
+            return getNode().getMethodReference(ctx);
+        }
+
         ctx.notifyBeforeEvaluation(getExpressionString());
         MethodReference methodReference = getNode().getMethodReference(ctx);
         ctx.notifyAfterEvaluation(getExpressionString());
@@ -196,7 +238,8 @@ public final class MethodExpressionImpl extends MethodExpression implements Exte
      */
     private Node getNode() throws ELException {
         if (node == null) {
-            node = ExpressionBuilder.createNode(expression);
+            parsed = ExpressionBuilder.createParsedExpression(expression);
+            node = parsed.getNode();
         }
 
         return node;
@@ -242,7 +285,11 @@ public final class MethodExpressionImpl extends MethodExpression implements Exte
      */
     @Override
     public Object invoke(ELContext context, Object[] params) throws PropertyNotFoundException, MethodNotFoundException, ELException {
-        EvaluationContext ctx = new EvaluationContext(context, functionMapper, variableMapper);
+        EvaluationContext ctx = EvaluationContext.bind(context, functionMapper, variableMapper);
+        if (!ctx.hasEvaluationListeners()) {
+            return getNode().invoke(ctx, paramTypes, params);
+        }
+
         ctx.notifyBeforeEvaluation(expression);
 
         Object obj = getNode().invoke(ctx, paramTypes, params);
@@ -23,12 +23,26 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
 
 import org.glassfish.expressly.lang.EvaluationContext;
 import org.glassfish.expressly.lang.ExpressionBuilder;
+import org.glassfish.expressly.lang.ParsedExpression;
+import org.glassfish.expressly.lang.StandardResolvers;
 import org.glassfish.expressly.parser.AstLiteralExpression;
+import org.glassfish.expressly.parser.AstValue;
+import org.glassfish.expressly.parser.Evaluator;
+import org.glassfish.expressly.parser.ExpressionCompiler;
+import org.glassfish.expressly.parser.MethodHandleCompiler;
 import org.glassfish.expressly.parser.Node;
+import org.glassfish.expressly.parser.TieredEvaluator;
+import org.glassfish.expressly.parser.TypeInference;
 
+import jakarta.el.ELClass;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
@@ -83,12 +97,55 @@ import jakarta.el.VariableMapper;
  */
 public final class ValueExpressionImpl extends ValueExpression implements Externalizable {
 
+    /*
+     * The declared type of the property of a bean, which only depends on the class of the bean, for the ELResolver it was
+     * resolved with.
+     */
+    private static final class PropertyType {
+        private final ELResolver resolver;
+        private final Class<?> baseClass;
+        private final Object property;
+        private final Class<?> type;
+
+        PropertyType(ELResolver resolver, Class<?> baseClass, Object property, Class<?> type) {
+            this.resolver = resolver;
+            this.baseClass = baseClass;
+            this.property = property;
+            this.type = type;
+        }
+    }
+
+    /*
+     * How the value of the node is converted to the expected type, decided once per expression. A node whose value is
+     * always of the expected type is evaluated with its typed getter, and is not converted when the resolvers of the
+     * context are the standard ones, which leave the conversion to the ExpressionFactory. Otherwise, the value is still
+     * converted with ELContext.convertToType, so that the resolvers can intercept the conversion.
+     */
+    private static final int CONVERSION_UNKNOWN = 0;
+    private static final int CONVERSION_NONE = 1;
+    private static final int CONVERSION_OBJECT = 2;
+    private static final int CONVERSION_BOOLEAN = 3;
+    private static final int CONVERSION_LONG = 4;
+    private static final int CONVERSION_DOUBLE = 5;
+    private static final int CONVERSION_CONVERT = 6;
+
     private Class<?> expectedType;
     private String expression;
     private FunctionMapper functionMapper;
     private VariableMapper variableMapper;
     private transient Node node;
 
+    // The cached parse of the expression, held so that it stays cached while the expression is in use
+    private transient ParsedExpression parsed;
+
+    // The type of the property of the last lvalue, for the class of its base
+    private transient volatile PropertyType propertyType;
+
+    private transient int conversion;
+
+    // The node, the evaluator shared by the expressions parsed from the same string, or a compiled evaluator
+    private transient volatile Evaluator evaluator;
+
     public ValueExpressionImpl() {
 
     }
@@ -101,6 +158,11 @@ public final class ValueExpressionImpl extends ValueExpression implements Extern
         this.expectedType = expectedType;
     }
 
+    public ValueExpressionImpl(String expr, ParsedExpression parsed, FunctionMapper fnMapper, VariableMapper varMapper, Class<?> expectedType) {
+        this(expr, parsed.getNode(), fnMapper, varMapper, expectedType);
+        this.parsed = parsed;
+    }
+
     @Override
     public Class<?> getExpectedType() {
         return expectedType;
@@ -121,32 +183,292 @@ public final class ValueExpressionImpl extends ValueExpression implements Extern
 
     @Override
     public Class<?> getType(ELContext context) throws PropertyNotFoundException, ELException {
-        return getNode().getType(new EvaluationContext(context, functionMapper, variableMapper));
+        return getNode().getType(EvaluationContext.bind(context, functionMapper, variableMapper));
+    }
+
+    /**
+     * Resolves the lvalue of this expression, evaluating the base and the property once, so that its type, read-only flag
+     * and value can be queried and set without evaluating the expression again.
+     *
+     * @param context the context of this evaluation
+     * @return the lvalue, which is only valid for <code>context</code>
+     * @throws PropertyNotFoundException if one of the property resolutions failed
+     * @throws ELException if an exception was thrown while performing property or variable resolution
+     */
+    public LValue getLValue(ELContext context) throws PropertyNotFoundException, ELException {
+        EvaluationContext ctx = EvaluationContext.bind(context, functionMapper, variableMapper);
+        Node node = getNode();
+        if (node instanceof AstValue && !node.isParametersProvided()) {
+            ValueReference reference = node.getValueReference(ctx);
+            return new LValue(this, ctx, reference.getBase(), reference.getProperty());
+        }
+
+        return new LValue(this, ctx, node);
+    }
+
+    /**
+     * Infers the static types of this expression from the types declared for its top-level identifiers, and reports the
+     * type errors that can be detected without evaluating it.
+     *
+     * @param declaredTypes the types of the identifiers of this expression, by name
+     * @return the inferred types
+     * @see TypeInference
+     */
+    public TypeInference inferTypes(Map<String, ? extends Type> declaredTypes) {
+        return TypeInference.infer(getNode(), declaredTypes);
+    }
+
+    Class<?> getCachedPropertyType(ELResolver resolver, Object base, Object property) {
+        PropertyType cached = propertyType;
+        if (cached != null && cached.resolver == resolver && cached.baseClass == base.getClass() && cached.property.equals(property)) {
+            return cached.type;
+        }
+
+        return null;
+    }
+
+    /*
+     * Only the type of a bean property is kept: the type of an element of a collection, an array or a map depends on the
+     * instance.
+     */
+    void cachePropertyType(ELResolver resolver, Object base, Object property, Class<?> type) {
+        if (type != null && property instanceof String && isBean(base)) {
+            propertyType = new PropertyType(resolver, base.getClass(), property, type);
+        }
+    }
+
+    private static boolean isBean(Object base) {
+        return !(base instanceof Map || base instanceof List || base instanceof ResourceBundle || base instanceof ELClass
+                || base instanceof Optional || base.getClass().isArray());
     }
 
     @Override
     public ValueReference getValueReference(ELContext context) throws PropertyNotFoundException, ELException {
-        return getNode().getValueReference(new EvaluationContext(context, functionMapper, variableMapper));
+        return getNode().getValueReference(EvaluationContext.bind(context, functionMapper, variableMapper));
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getValue(ELContext context) throws PropertyNotFoundException, ELException {
-        EvaluationContext ctx = new EvaluationContext(context, functionMapper, variableMapper);
+        return (T) getValue(EvaluationContext.bind(context, functionMapper, variableMapper));
+    }
+
+    private Object getValue(EvaluationContext ctx) {
+        if (!ctx.hasEvaluationListeners()) {
+            return evaluate(ctx);
+        }
+
         ctx.notifyBeforeEvaluation(expression);
+        Object value = evaluate(ctx);
+        ctx.notifyAfterEvaluation(expression);
 
-        Object value = getNode().getValue(ctx);
+        return value;
+    }
 
-        if (expectedType != null) {
-            try {
-                value = ctx.convertToType(value, expectedType);
-            } catch (IllegalArgumentException ex) {
-                throw new ELException(ex);
+    private Object evaluate(EvaluationContext ctx) {
+        Evaluator evaluator = getEvaluator();
+        int conversion = getConversion(evaluator);
+        if (conversion == CONVERSION_NONE) {
+            return evaluator.getValue(ctx);
+        }
+
+        if (conversion != CONVERSION_CONVERT && StandardResolvers.isStandard(ctx.getELContext())) {
+            switch (conversion) {
+            case CONVERSION_BOOLEAN:
+                return Boolean.valueOf(evaluator.getBoolean(ctx));
+            case CONVERSION_LONG:
+                return Long.valueOf(evaluator.getLong(ctx));
+            case CONVERSION_DOUBLE:
+                return Double.valueOf(evaluator.getDouble(ctx));
+            default:
+                return evaluator.getValue(ctx);
             }
         }
+
+        return convertToType(ctx, evaluator.getValue(ctx), expectedType);
+    }
+
+    private static <T> T convertToType(EvaluationContext ctx, Object value, Class<T> type) {
+        try {
+            return ctx.convertToType(value, type);
+        } catch (IllegalArgumentException ex) {
+            throw new ELException(ex);
+        }
+    }
+
+    private int getConversion(Evaluator node) {
+        if (conversion == CONVERSION_UNKNOWN) {
+            if (expectedType == null) {
+                conversion = CONVERSION_NONE;
+            } else if (expectedType == Object.class) {
+                conversion = CONVERSION_OBJECT;
+            } else if ((expectedType == Boolean.class || expectedType == Boolean.TYPE) && node.isBooleanValued()) {
+                conversion = CONVERSION_BOOLEAN;
+            } else if ((expectedType == Long.class || expectedType == Long.TYPE) && node.isLongValued()) {
+                conversion = CONVERSION_LONG;
+            } else if ((expectedType == Double.class || expectedType == Double.TYPE) && node.isDoubleValued()) {
+                conversion = CONVERSION_DOUBLE;
+            } else {
+                conversion = CONVERSION_CONVERT;
+            }
+        }
+
+        return conversion;
+    }
+
+    /**
+     * Evaluates the expression as a <code>boolean</code>, ignoring the expected type. Expressions whose value is always a
+     * <code>Boolean</code>, such as a comparison or a logical operator, are evaluated without boxing their value, and
+     * are not coerced when the resolvers of the context are the standard ones; the value of other expressions is coerced
+     * to <code>boolean</code>.
+     *
+     * @param context the context of this evaluation
+     * @return the value of the expression, coerced to <code>boolean</code>
+     * @throws PropertyNotFoundException if one of the property resolutions failed
+     * @throws ELException if an exception was thrown while performing property or variable resolution, or if the value
+     * cannot be coerced to <code>boolean</code>
+     */
+    public boolean getBoolean(ELContext context) throws PropertyNotFoundException, ELException {
+        EvaluationContext ctx = EvaluationContext.bind(context, functionMapper, variableMapper);
+        if (!ctx.hasEvaluationListeners()) {
+            return getBoolean(ctx);
+        }
+
+        ctx.notifyBeforeEvaluation(expression);
+        boolean value = getBoolean(ctx);
+        ctx.notifyAfterEvaluation(expression);
+
+        return value;
+    }
+
+    private boolean getBoolean(EvaluationContext ctx) {
+        Evaluator evaluator = getEvaluator();
+        if (evaluator.isBooleanValued() && !StandardResolvers.isStandard(ctx.getELContext())) {
+            return convertToType(ctx, Boolean.valueOf(evaluator.getBoolean(ctx)), Boolean.TYPE);
+        }
+
+        try {
+            return evaluator.getBoolean(ctx);
+        } catch (IllegalArgumentException ex) {
+            throw new ELException(ex);
+        }
+    }
+
+    /**
+     * Evaluates the expression as a <code>long</code>, ignoring the expected type. Expressions whose value is always a
+     * <code>Long</code>, such as integer arithmetic on integer literals, are evaluated without boxing their value, and
+     * are not coerced when the resolvers of the context are the standard ones; the value of other expressions is coerced
+     * to <code>long</code>.
+     *
+     * @param context the context of this evaluation
+     * @return the value of the expression, coerced to <code>long</code>
+     * @throws PropertyNotFoundException if one of the property resolutions failed
+     * @throws ELException if an exception was thrown while performing property or variable resolution, or if the value
+     * cannot be coerced to <code>long</code>
+     */
+    public long getLong(ELContext context) throws PropertyNotFoundException, ELException {
+        EvaluationContext ctx = EvaluationContext.bind(context, functionMapper, variableMapper);
+        if (!ctx.hasEvaluationListeners()) {
+            return getLong(ctx);
+        }
+
+        ctx.notifyBeforeEvaluation(expression);
+        long value = getLong(ctx);
+        ctx.notifyAfterEvaluation(expression);
+
+        return value;
+    }
+
+    private long getLong(EvaluationContext ctx) {
+        Evaluator evaluator = getEvaluator();
+        if (evaluator.isLongValued() && !StandardResolvers.isStandard(ctx.getELContext())) {
+            return convertToType(ctx, Long.valueOf(evaluator.getLong(ctx)), Long.TYPE);
+        }
+
+        try {
+            return evaluator.getLong(ctx);
+        } catch (IllegalArgumentException ex) {
+            throw new ELException(ex);
+        }
+    }
+
+    /**
+     * Evaluates the expression as a <code>double</code>, ignoring the expected type. Expressions whose value is always a
+     * <code>Long</code> or a <code>Double</code> are evaluated without boxing their value, and are not coerced when the
+     * resolvers of the context are the standard ones; the value of other expressions is coerced to <code>double</code>.
+     *
+     * @param context the context of this evaluation
+     * @return the value of the expression, coerced to <code>double</code>
+     * @throws PropertyNotFoundException if one of the property resolutions failed
+     * @throws ELException if an exception was thrown while performing property or variable resolution, or if the value
+     * cannot be coerced to <code>double</code>
+     */
+    public double getDouble(ELContext context) throws PropertyNotFoundException, ELException {
+        EvaluationContext ctx = EvaluationContext.bind(context, functionMapper, variableMapper);
+        if (!ctx.hasEvaluationListeners()) {
+            return getDouble(ctx);
+        }
+
+        ctx.notifyBeforeEvaluation(expression);
+        double value = getDouble(ctx);
         ctx.notifyAfterEvaluation(expression);
 
-        return (T) value;
+        return value;
+    }
+
+    private double getDouble(EvaluationContext ctx) {
+        Evaluator evaluator = getEvaluator();
+        if ((evaluator.isLongValued() || evaluator.isDoubleValued()) && !StandardResolvers.isStandard(ctx.getELContext())) {
+            return convertToType(ctx, evaluator.getValue(ctx), Double.TYPE);
+        }
+
+        try {
+            return evaluator.getDouble(ctx);
+        } catch (IllegalArgumentException ex) {
+            throw new ELException(ex);
+        }
+    }
+
+    /**
+     * Compiles this expression with {@link ExpressionCompiler}, or with {@link MethodHandleCompiler} where classes cannot
+     * be defined, so that its next evaluations run the compiled expression rather than interpret the parsed one.
+     * Compiling an expression does not change its value.
+     *
+     * <p>
+     * Expressions are otherwise compiled in the background once they have been evaluated often enough, see
+     * {@link TieredEvaluator}.
+     *
+     * @return <code>true</code> if the expression was compiled, <code>false</code> if it has nothing to compile or cannot
+     * be compiled
+     */
+    public boolean compile() {
+        Evaluator current = getEvaluator();
+        if (current instanceof TieredEvaluator) {
+            return ((TieredEvaluator) current).compile();
+        }
+
+        Node node = getNode();
+        if (current == node) {
+            Evaluator compiled = ExpressionCompiler.isAvailable() ? ExpressionCompiler.compile(node) : MethodHandleCompiler.compile(node);
+            if (compiled == node) {
+                return false;
+            }
+
+            evaluator = compiled;
+        }
+
+        return true;
+    }
+
+    private Evaluator getEvaluator() {
+        Evaluator current = evaluator;
+        if (current == null) {
+            Node node = getNode();
+            current = parsed != null ? parsed.getEvaluator() : node;
+            evaluator = current;
+        }
+
+        return current;
     }
 
     @Override
@@ -165,7 +487,7 @@ public final class ValueExpressionImpl extends ValueExpression implements Extern
 
     @Override
     public boolean isReadOnly(ELContext context) throws PropertyNotFoundException, ELException {
-        return getNode().isReadOnly(new EvaluationContext(context, functionMapper, variableMapper));
+        return getNode().isReadOnly(EvaluationContext.bind(context, functionMapper, variableMapper));
     }
 
     @Override
@@ -181,7 +503,7 @@ public final class ValueExpressionImpl extends ValueExpression implements Extern
 
     @Override
     public void setValue(ELContext context, Object value) throws PropertyNotFoundException, PropertyNotWritableException, ELException {
-        getNode().setValue(new EvaluationContext(context, functionMapper, variableMapper), value);
+        getNode().setValue(EvaluationContext.bind(context, functionMapper, variableMapper), value);
     }
 
     @Override
@@ -203,8 +525,14 @@ public final class ValueExpressionImpl extends ValueExpression implements Extern
             return false;
         }
 
+        if (obj == this) {
+            return true;
+        }
+
+        // Expressions parsed from the same string share their node
         ValueExpressionImpl valueExpressionImpl = (ValueExpressionImpl) obj;
-        return getNode().equals(valueExpressionImpl.getNode());
+        Node otherNode = valueExpressionImpl.getNode();
+        return getNode() == otherNode || getNode().equals(otherNode);
     }
 
     /**
@@ -213,7 +541,8 @@ public final class ValueExpressionImpl extends ValueExpression implements Extern
      */
     private Node getNode() throws ELException {
         if (node == null) {
-            node = ExpressionBuilder.createNode(expression);
+            parsed = ExpressionBuilder.createParsedExpression(expression);
+            node = parsed.getNode();
         }
 
         return this.node;
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly;
+
+import static org.glassfish.expressly.util.ReflectionUtil.forName;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.glassfish.expressly.lang.EvaluationContext;
+import org.glassfish.expressly.util.MessageFactory;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.PropertyNotWritableException;
+import jakarta.el.ValueExpression;
+
+/**
+ * A <code>ValueExpression</code> for an expression string that is only literal text, such as <code>"Submit"</code> or
+ * <code>"10"</code>, without any <code>${}</code> or <code>#{}</code> expression and without escaped delimiters.
+ *
+ * <p>
+ * Such an expression evaluates to the same value as a {@link ValueExpressionImpl} for the same string, and notifies the
+ * evaluation listeners of the context the same way, but it is not parsed. Its value is coerced to the expected type
+ * once, with the context the expression is created or first evaluated with, rather than on each evaluation. If the text
+ * cannot be coerced to the expected type, the coercion is attempted again, and fails, on each evaluation.
+ */
+public final class ValueExpressionLiteralText extends ValueExpression implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String expression;
+    private Class<?> expectedType;
+
+    // The expression coerced to the expected type, once coerced is set
+    private transient volatile Object value;
+    private transient volatile boolean coerced;
+
+    public ValueExpressionLiteralText() {
+        super();
+    }
+
+    /**
+     * @param context the context used to coerce the text to the expected type
+     * @param expression the literal text
+     * @param expectedType the type the text is coerced to
+     */
+    public ValueExpressionLiteralText(ELContext context, String expression, Class<?> expectedType) {
+        this.expression = expression;
+        this.expectedType = expectedType;
+        coerce(context);
+    }
+
+    /**
+     * Tells whether an expression string is only literal text. A string that contains any <code>$</code>, <code>#</code>
+     * or <code>\</code> character is not considered, even if it is parsed as literal text.
+     *
+     * @param expression the expression string
+     * @return <code>true</code> if the expression string is not empty and is literal text
+     */
+    public static boolean isLiteralText(String expression) {
+        if (expression == null || expression.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (c == '$' || c == '#' || c == '\\') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean coerce(ELContext context) {
+        if (expectedType == null || expectedType == Object.class || expectedType == String.class) {
+            value = expression;
+            coerced = true;
+        } else {
+            try {
+                value = context.convertToType(expression, expectedType);
+                coerced = true;
+            } catch (IllegalArgumentException | ELException ex) {
+                // Reported when the expression is evaluated
+            }
+        }
+
+        return coerced;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getValue(ELContext context) {
+        EvaluationContext ctx = EvaluationContext.bind(context, null, null);
+        if (!ctx.hasEvaluationListeners()) {
+            return (T) evaluate(context);
+        }
+
+        ctx.notifyBeforeEvaluation(expression);
+        Object value = evaluate(context);
+        ctx.notifyAfterEvaluation(expression);
+
+        return (T) value;
+    }
+
+    private Object evaluate(ELContext context) {
+        if (!coerced && !coerce(context)) {
+            try {
+                return context.convertToType(expression, expectedType);
+            } catch (IllegalArgumentException ex) {
+                throw new ELException(ex);
+            }
+        }
+
+        return value;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object value) {
+        throw new PropertyNotWritableException(MessageFactory.get("error.value.literal.write", expression));
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context) {
+        return true;
+    }
+
+    @Override
+    public Class<?> getType(ELContext context) {
+        return String.class;
+    }
+
+    @Override
+    public Class<?> getExpectedType() {
+        return expectedType;
+    }
+
+    @Override
+    public String getExpressionString() {
+        return expression;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ValueExpressionLiteralText && expression.equals(((ValueExpressionLiteralText) obj).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    @Override
+    public boolean isLiteralText() {
+        return true;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeUTF(expression);
+        out.writeUTF(expectedType != null ? expectedType.getName() : "");
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        expression = in.readUTF();
+        String type = in.readUTF();
+        if (!"".equals(type)) {
+            expectedType = forName(type);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValueExpression[" + expression + "]";
+    }
+}
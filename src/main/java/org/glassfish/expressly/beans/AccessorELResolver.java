@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.beans;
+
+import java.util.Optional;
+
+import org.glassfish.expressly.util.MessageFactory;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.ELResolver;
+import jakarta.el.PropertyNotFoundException;
+import jakarta.el.PropertyNotWritableException;
+
+/**
+ * Resolves the properties and methods of beans with the {@link BeanAccessors} generated for their class, or for one of
+ * its superclasses, by {@link AccessorProcessor}.
+ *
+ * <p>
+ * The properties and methods without generated accessors, and the beans of classes without any, are not resolved, so
+ * that they are left to the next resolvers, such as the <code>BeanELResolver</code>. This resolver is meant to be
+ * added to a context, as in <code>elManager.addELResolver(new AccessorELResolver())</code>, before the standard ones.
+ */
+public class AccessorELResolver extends ELResolver {
+
+    private static final ClassValue<Optional<BeanAccessors>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<BeanAccessors> computeValue(Class<?> type) {
+            for (Class<?> beanClass = type; beanClass != null && beanClass.getClassLoader() != null; beanClass = beanClass.getSuperclass()) {
+                try {
+                    Class<?> accessorsClass = Class.forName(beanClass.getName() + BeanAccessors.SUFFIX, true, beanClass.getClassLoader());
+                    return Optional.of((BeanAccessors) accessorsClass.getConstructor().newInstance());
+                } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+                    // No accessors were generated for this class
+                }
+            }
+
+            return Optional.empty();
+        }
+    };
+
+    /**
+     * @param type a bean class
+     * @return the accessors generated for the class, or for its closest superclass that has some, or <code>null</code>
+     * if there are none
+     */
+    public static BeanAccessors getAccessors(Class<?> type) {
+        return ACCESSORS.get(type).orElse(null);
+    }
+
+    /*
+     * The accessors of a property of a bean, or null if the property is not resolved by this resolver.
+     */
+    private static BeanAccessors getAccessors(ELContext context, Object base, Object property) {
+        if (context == null) {
+            throw new NullPointerException();
+        }
+
+        if (base == null || !(property instanceof String)) {
+            return null;
+        }
+
+        BeanAccessors accessors = getAccessors(base.getClass());
+        if (accessors == null || accessors.getType((String) property) == null) {
+            return null;
+        }
+
+        context.setPropertyResolved(base, property);
+        return accessors;
+    }
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        BeanAccessors accessors = getAccessors(context, base, property);
+        if (accessors == null) {
+            return null;
+        }
+
+        if (!accessors.isReadable((String) property)) {
+            throw new PropertyNotFoundException(MessageFactory.get("error.property.notreadable", base.getClass().getName(), property));
+        }
+
+        try {
+            return accessors.getValue(base, (String) property);
+        } catch (ELException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ELException(MessageFactory.get("error.property.invocation", base.getClass().getName(), property), e);
+        }
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        BeanAccessors accessors = getAccessors(context, base, property);
+        if (accessors == null) {
+            return null;
+        }
+
+        // As for the BeanELResolver, the type of a read-only property is null
+        return accessors.isWritable((String) property) ? accessors.getType((String) property) : null;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        BeanAccessors accessors = getAccessors(context, base, property);
+        if (accessors == null) {
+            return;
+        }
+
+        if (!accessors.isWritable((String) property)) {
+            throw new PropertyNotWritableException(MessageFactory.get("error.property.notwritable", base.getClass().getName(), property));
+        }
+
+        try {
+            accessors.setValue(base, (String) property, value);
+        } catch (ELException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ELException(MessageFactory.get("error.property.invocation", base.getClass().getName(), property), e);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        BeanAccessors accessors = getAccessors(context, base, property);
+        return accessors != null && !accessors.isWritable((String) property);
+    }
+
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        return base != null && getAccessors(base.getClass()) != null ? Object.class : null;
+    }
+
+    /**
+     * Invokes a method with generated accessors. Methods invoked with explicit parameter types are left to the next
+     * resolvers, as the generated accessors only tell methods apart by their number of parameters.
+     */
+    @Override
+    public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+        if (context == null) {
+            throw new NullPointerException();
+        }
+
+        if (base == null || !(method instanceof String) || paramTypes != null) {
+            return null;
+        }
+
+        BeanAccessors accessors = getAccessors(base.getClass());
+        Object[] arguments = params == null ? new Object[0] : params;
+        if (accessors == null || !accessors.hasMethod((String) method, arguments.length)) {
+            return null;
+        }
+
+        context.setPropertyResolved(base, method);
+        try {
+            return accessors.invoke(context, base, (String) method, arguments);
+        } catch (ELException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ELException(e);
+        }
+    }
+}
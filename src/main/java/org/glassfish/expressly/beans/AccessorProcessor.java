@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.beans;
+
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import org.glassfish.expressly.util.MessageFactory;
+
+/**
+ * Generates the {@link BeanAccessors} of the classes annotated with {@link ELAccessible}.
+ *
+ * <p>
+ * The processor is not registered as a service, so it does not run for every compilation with this library on the
+ * class path. It is named explicitly, as in
+ * <code>javac -processorpath expressly.jar -processor org.glassfish.expressly.beans.AccessorProcessor</code>, or with
+ * the <code>annotationProcessorPaths</code> and <code>annotationProcessors</code> of the Maven compiler plugin. The
+ * accessors are generated as Java source, in the package of the bean class, with a <code>switch</code> on the name of
+ * the property or the method for each operation.
+ */
+@SupportedAnnotationTypes("org.glassfish.expressly.beans.ELAccessible")
+public class AccessorProcessor extends AbstractProcessor {
+
+    /*
+     * A property of a bean, with its getter and setter, either of which can be missing.
+     */
+    private static final class Property {
+        TypeMirror type;
+        ExecutableElement getter;
+        ExecutableElement setter;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(ELAccessible.class)) {
+            if ((element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE)
+                    || !element.getModifiers().contains(Modifier.PUBLIC)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, MessageFactory.get("error.accessors.type", element), element);
+                continue;
+            }
+
+            try {
+                generate((TypeElement) element);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.toString(), element);
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        Map<String, Property> properties = new TreeMap<>();
+        // The methods by name and number of parameters, null for the overloaded ones
+        Map<String, Map<Integer, ExecutableElement>> methods = new TreeMap<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)
+                    || !method.getTypeParameters().isEmpty() || method.isVarArgs()
+                    || ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+
+            String name = method.getSimpleName().toString();
+            Map<Integer, ExecutableElement> overloads = methods.computeIfAbsent(name, key -> new TreeMap<>());
+            int paramCount = method.getParameters().size();
+            overloads.put(paramCount, overloads.containsKey(paramCount) ? null : method);
+
+            addProperty(properties, method, name);
+        }
+        properties.values().forEach(this::resolveType);
+
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + BeanAccessors.SUFFIX;
+        String beanType = getSourceName(processingEnv.getTypeUtils().erasure(type.asType()));
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+        source.append("public final class ").append(simpleName).append(" extends ").append(BeanAccessors.class.getName()).append(" {\n");
+
+        source.append("\n    @Override\n    public Class<?> getType(String property) {\n        switch (property) {\n");
+        properties.forEach((name, property) -> source.append("        case \"").append(name).append("\":\n            return ")
+                .append(getSourceName(property.type)).append(".class;\n"));
+        source.append("        default:\n            return null;\n        }\n    }\n");
+
+        appendFlag(source, "isReadable", properties, true);
+        appendFlag(source, "isWritable", properties, false);
+
+        source.append("\n    @Override\n    public Object getValue(Object bean, String property) throws Exception {\n");
+        source.append("        switch (property) {\n");
+        properties.forEach((name, property) -> {
+            if (property.getter != null) {
+                source.append("        case \"").append(name).append("\":\n            return ((").append(beanType).append(") bean).")
+                        .append(property.getter.getSimpleName()).append("();\n");
+            }
+        });
+        source.append("        default:\n            throw new IllegalArgumentException(property);\n        }\n    }\n");
+
+        source.append("\n    @Override\n    public void setValue(Object bean, String property, Object value) throws Exception {\n");
+        source.append("        switch (property) {\n");
+        properties.forEach((name, property) -> {
+            if (property.setter != null) {
+                source.append("        case \"").append(name).append("\":\n            ((").append(beanType).append(") bean).")
+                        .append(property.setter.getSimpleName()).append("((").append(getSourceName(box(property.type)))
+                        .append(") value);\n            return;\n");
+            }
+        });
+        source.append("        default:\n            throw new IllegalArgumentException(property);\n        }\n    }\n");
+
+        source.append("\n    @Override\n    public boolean hasMethod(String method, int paramCount) {\n        switch (method) {\n");
+        methods.forEach((name, overloads) -> {
+            StringBuilder condition = new StringBuilder();
+            overloads.forEach((paramCount, method) -> {
+                if (method != null) {
+                    condition.append(condition.length() == 0 ? "" : " || ").append("paramCount == ").append(paramCount);
+                }
+            });
+            if (condition.length() > 0) {
+                source.append("        case \"").append(name).append("\":\n            return ").append(condition).append(";\n");
+            }
+        });
+        source.append("        default:\n            return false;\n        }\n    }\n");
+
+        source.append("\n    @Override\n    public Object invoke(jakarta.el.ELContext context, Object bean, String method, Object[] params) throws Exception {\n");
+        source.append("        switch (method) {\n");
+        methods.forEach((name, overloads) -> {
+            if (overloads.values().stream().anyMatch(method -> method != null)) {
+                source.append("        case \"").append(name).append("\":\n            switch (params.length) {\n");
+                overloads.values().stream().filter(method -> method != null).forEach(method -> appendInvocation(source, beanType, method));
+                source.append("            }\n            break;\n");
+            }
+        });
+        source.append("        }\n\n        throw new IllegalArgumentException(method);\n    }\n}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type)
+                .openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /*
+     * Add the getters and setters to the properties, as java.beans.Introspector names them.
+     */
+    private void addProperty(Map<String, Property> properties, ExecutableElement method, String name) {
+        TypeMirror returnType = method.getReturnType();
+        List<? extends Element> parameters = method.getParameters();
+        if (parameters.isEmpty() && returnType.getKind() != TypeKind.VOID) {
+            String propertyName = name.startsWith("get") ? getPropertyName(name, 3)
+                    : name.startsWith("is") && returnType.getKind() == TypeKind.BOOLEAN ? getPropertyName(name, 2) : null;
+            if (propertyName != null) {
+                Property property = properties.computeIfAbsent(propertyName, key -> new Property());
+                if (property.getter == null || name.startsWith("is")) {
+                    property.getter = method;
+                    property.type = returnType;
+                }
+            }
+        } else if (parameters.size() == 1 && returnType.getKind() == TypeKind.VOID && name.startsWith("set")) {
+            String propertyName = getPropertyName(name, 3);
+            if (propertyName != null) {
+                Property property = properties.computeIfAbsent(propertyName, key -> new Property());
+                property.setter = method;
+            }
+        }
+    }
+
+    private static String getPropertyName(String methodName, int prefixLength) {
+        return methodName.length() > prefixLength ? Introspector.decapitalize(methodName.substring(prefixLength)) : null;
+    }
+
+    private void appendFlag(StringBuilder source, String methodName, Map<String, Property> properties, boolean readable) {
+        source.append("\n    @Override\n    public boolean ").append(methodName).append("(String property) {\n        switch (property) {\n");
+        Map<String, Property> flagged = new LinkedHashMap<>();
+        properties.forEach((name, property) -> {
+            if ((readable ? property.getter : property.setter) != null) {
+                flagged.put(name, property);
+            }
+        });
+        for (String name : flagged.keySet()) {
+            source.append("        case \"").append(name).append("\":\n");
+        }
+        if (!flagged.isEmpty()) {
+            source.append("            return true;\n");
+        }
+        source.append("        default:\n            return false;\n        }\n    }\n");
+    }
+
+    /*
+     * The type of a property is the type of its getter, or of its setter for a write-only property. A setter of another
+     * type is not the setter of the property.
+     */
+    private void resolveType(Property property) {
+        if (property.setter == null) {
+            return;
+        }
+
+        TypeMirror parameterType = property.setter.getParameters().get(0).asType();
+        if (property.type == null) {
+            property.type = parameterType;
+        } else if (!processingEnv.getTypeUtils().isSameType(processingEnv.getTypeUtils().erasure(parameterType),
+                processingEnv.getTypeUtils().erasure(property.type))) {
+            property.setter = null;
+        }
+    }
+
+    private void appendInvocation(StringBuilder source, String beanType, ExecutableElement method) {
+        List<? extends Element> parameters = method.getParameters();
+        source.append("            case ").append(parameters.size()).append(":\n                ");
+
+        boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+        if (!isVoid) {
+            source.append("return ");
+        }
+        source.append("((").append(beanType).append(") bean).").append(method.getSimpleName()).append('(');
+        for (int i = 0; i < parameters.size(); i++) {
+            String parameterType = getSourceName(parameters.get(i).asType());
+            source.append(i == 0 ? "" : ", ").append("(").append(parameterType).append(") context.convertToType(params[").append(i)
+                    .append("], ").append(parameterType).append(".class)");
+        }
+        source.append(");\n");
+        if (isVoid) {
+            source.append("                return null;\n");
+        }
+    }
+
+    private TypeMirror box(TypeMirror type) {
+        return type.getKind().isPrimitive() ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).asType() : type;
+    }
+
+    /*
+     * The name of the erasure of a type in source code, without the type annotations that TypeMirror.toString() adds.
+     */
+    private String getSourceName(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return getSourceName(((ArrayType) erasure).getComponentType()) + "[]";
+        }
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+        }
+
+        return erasure.getKind().name().toLowerCase();
+    }
+}
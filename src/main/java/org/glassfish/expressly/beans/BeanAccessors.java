@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.beans;
+
+import jakarta.el.ELContext;
+
+/**
+ * The accessors of the properties and methods of a bean class, keyed by name, which call the getters, setters and
+ * methods of the class directly rather than through reflection.
+ *
+ * <p>
+ * The accessors of a class annotated with {@link ELAccessible} are generated by {@link AccessorProcessor}, as the class
+ * of the same package named after the binary name of the bean class followed by {@value #SUFFIX}. The properties are
+ * those <code>java.beans.Introspector</code> finds, and the methods are the public methods that are neither static,
+ * generic, variable arity nor overloaded with the same number of parameters. The other methods are left to the
+ * <code>BeanELResolver</code>.
+ */
+public abstract class BeanAccessors {
+
+    /**
+     * The suffix of the names of the generated accessors.
+     */
+    public static final String SUFFIX = "_ELAccessors";
+
+    /**
+     * @param property the name of a property
+     * @return the type of the property, or <code>null</code> if the bean has no such property
+     */
+    public abstract Class<?> getType(String property);
+
+    /**
+     * @param property the name of a property
+     * @return <code>true</code> if the property has a getter
+     */
+    public abstract boolean isReadable(String property);
+
+    /**
+     * @param property the name of a property
+     * @return <code>true</code> if the property has a setter
+     */
+    public abstract boolean isWritable(String property);
+
+    /**
+     * @param bean the bean
+     * @param property the name of a readable property
+     * @return the value returned by the getter of the property
+     * @throws Exception if the getter throws one
+     */
+    public abstract Object getValue(Object bean, String property) throws Exception;
+
+    /**
+     * @param bean the bean
+     * @param property the name of a writable property
+     * @param value the value passed to the setter of the property, which must be of the type of the property
+     * @throws Exception if the setter throws one
+     */
+    public abstract void setValue(Object bean, String property, Object value) throws Exception;
+
+    /**
+     * @param method the name of a method
+     * @param paramCount the number of parameters
+     * @return <code>true</code> if the method can be invoked through {@link #invoke}
+     */
+    public abstract boolean hasMethod(String method, int paramCount);
+
+    /**
+     * Invokes a method, coercing the parameters to the types of the parameters of the method with the context.
+     *
+     * @param context the context of the evaluation
+     * @param bean the bean
+     * @param method the name of a method for which {@link #hasMethod} is <code>true</code>
+     * @param params the parameters
+     * @return the value returned by the method, or <code>null</code> for a <code>void</code> method
+     * @throws Exception if the method throws one
+     */
+    public abstract Object invoke(ELContext context, Object bean, String method, Object[] params) throws Exception;
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.beans;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+import org.glassfish.expressly.util.MessageFactory;
+import org.glassfish.expressly.util.ReflectionUtil;
+
+import jakarta.el.BeanELResolver;
+import jakarta.el.ELClass;
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.PropertyNotFoundException;
+import jakarta.el.PropertyNotWritableException;
+
+/**
+ * A <code>BeanELResolver</code> that resolves the properties of beans through method handles rather than reflection.
+ *
+ * <p>
+ * The properties of a class are introspected once, into a table of the getter and setter of each property, as method
+ * handles, with its type and whether it is read-only. The properties of the interfaces of the class, such as those
+ * implemented with default methods, and the components of records are included. The tables are kept with a
+ * <code>ClassValue</code>, so they do not keep the class loaders of the classes alive. Whether the bases of a class are
+ * left to the other standard resolvers is kept in the same table, so a lookup does not check the base against the
+ * interfaces of maps and collections each time.
+ *
+ * <p>
+ * Methods are invoked through {@link ReflectionUtil}, with the same resolution as the <code>BeanELResolver</code>.
+ *
+ * <p>
+ * This resolver can be added to a context, as in <code>elManager.addELResolver(new BeanELResolverImpl())</code>. It
+ * then comes before the standard resolvers, so it leaves the bases they resolve, such as maps, collections and arrays, to
+ * them, and the properties a bean does not have to the standard <code>BeanELResolver</code>, which reports them.
+ */
+public class BeanELResolverImpl extends BeanELResolver {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    /*
+     * A property of a bean class, with the method handles of its getter, of type (Object)Object, and of its setter, of
+     * type (Object, Object)void, which are null if the property is not readable or not writable.
+     */
+    private static final class BeanProperty {
+        final Class<?> type;
+        final MethodHandle getter;
+        final MethodHandle setter;
+
+        BeanProperty(Class<?> type, MethodHandle getter, MethodHandle setter) {
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    // The properties of the classes that are left to the other standard resolvers
+    private static final Map<String, BeanProperty> NOT_A_BEAN = Map.of();
+
+    /*
+     * Whether a class is a bean is decided along with its properties: a failed instanceof check of an interface, such as
+     * Map or Collection, is far slower than a lookup in the ClassValue.
+     */
+    private static final ClassValue<Map<String, BeanProperty>> PROPERTIES = new ClassValue<>() {
+        @Override
+        protected Map<String, BeanProperty> computeValue(Class<?> type) {
+            return isBean(type) ? introspect(type) : NOT_A_BEAN;
+        }
+    };
+
+    private final boolean isReadOnly;
+
+    /**
+     * Creates a resolver for reading and writing properties.
+     */
+    public BeanELResolverImpl() {
+        this(false);
+    }
+
+    /**
+     * @param isReadOnly <code>true</code> if the properties cannot be written with this resolver
+     */
+    public BeanELResolverImpl(boolean isReadOnly) {
+        super(isReadOnly);
+        this.isReadOnly = isReadOnly;
+    }
+
+    private static Map<String, BeanProperty> introspect(Class<?> type) {
+        Map<String, BeanProperty> properties = new HashMap<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                properties.put(component.getName(), new BeanProperty(component.getType(), getter(component.getAccessor()), null));
+            }
+        }
+
+        // The class first, so that its properties take precedence over those of its interfaces
+        Set<Class<?>> types = new LinkedHashSet<>();
+        types.add(type);
+        addInterfaces(type, types);
+        for (Class<?> beanType : types) {
+            try {
+                for (PropertyDescriptor descriptor : Introspector.getBeanInfo(beanType).getPropertyDescriptors()) {
+                    if (!properties.containsKey(descriptor.getName()) && descriptor.getPropertyType() != null) {
+                        properties.put(descriptor.getName(), new BeanProperty(descriptor.getPropertyType(),
+                                getter(descriptor.getReadMethod()), setter(descriptor.getWriteMethod())));
+                    }
+                }
+            } catch (IntrospectionException e) {
+                throw new ELException(e);
+            }
+        }
+
+        return properties;
+    }
+
+    private static void addInterfaces(Class<?> type, Set<Class<?>> types) {
+        for (Class<?> beanType = type; beanType != null; beanType = beanType.getSuperclass()) {
+            for (Class<?> interfaceType : beanType.getInterfaces()) {
+                if (types.add(interfaceType)) {
+                    addInterfaces(interfaceType, types);
+                }
+            }
+        }
+    }
+
+    private static MethodHandle getter(Method method) {
+        MethodHandle handle = unreflect(method);
+        return handle == null ? null : handle.asType(methodType(Object.class, Object.class));
+    }
+
+    private static MethodHandle setter(Method method) {
+        MethodHandle handle = unreflect(method);
+        return handle == null ? null : handle.asType(methodType(void.class, Object.class, Object.class));
+    }
+
+    /*
+     * The method handle of the public version of a method, or null if there is none.
+     */
+    private static MethodHandle unreflect(Method method) {
+        Method publicMethod = method == null ? null : ReflectionUtil.getMethod(method.getDeclaringClass(), method);
+        if (publicMethod == null) {
+            return null;
+        }
+
+        try {
+            return LOOKUP.unreflect(publicMethod);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /*
+     * The property of a bean, or null if it is left to the next resolvers: the properties of the bases of the other
+     * standard resolvers, which come after this one in a StandardELContext, and the properties the bean does not have,
+     * which the standard BeanELResolver reports.
+     */
+    private static BeanProperty getProperty(ELContext context, Object base, Object property) {
+        if (context == null) {
+            throw new NullPointerException();
+        }
+
+        if (base == null || property == null) {
+            return null;
+        }
+
+        BeanProperty beanProperty = PROPERTIES.get(base.getClass()).get(property.toString());
+        if (beanProperty != null) {
+            context.setPropertyResolved(base, property);
+        }
+
+        return beanProperty;
+    }
+
+    private static boolean isBean(Class<?> type) {
+        return !(Map.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type) || ResourceBundle.class.isAssignableFrom(type)
+                || type == ELClass.class || type.isArray());
+    }
+
+    private static boolean isBean(Object base) {
+        return PROPERTIES.get(base.getClass()) != NOT_A_BEAN;
+    }
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        BeanProperty beanProperty = getProperty(context, base, property);
+        if (beanProperty == null) {
+            return null;
+        }
+
+        if (beanProperty.getter == null) {
+            throw new PropertyNotFoundException(MessageFactory.get("error.property.notreadable", base.getClass().getName(), property));
+        }
+
+        try {
+            return beanProperty.getter.invokeExact(base);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ELException(MessageFactory.get("error.property.invocation", base.getClass().getName(), property), t);
+        }
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        BeanProperty beanProperty = getProperty(context, base, property);
+        if (beanProperty == null || isReadOnly || beanProperty.setter == null) {
+            return null;
+        }
+
+        return beanProperty.type;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        BeanProperty beanProperty = getProperty(context, base, property);
+        if (beanProperty == null) {
+            return;
+        }
+
+        if (isReadOnly || beanProperty.setter == null) {
+            throw new PropertyNotWritableException(MessageFactory.get("error.property.notwritable", base.getClass().getName(), property));
+        }
+
+        try {
+            beanProperty.setter.invokeExact(base, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ELException(MessageFactory.get("error.property.invocation", base.getClass().getName(), property), t);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        BeanProperty beanProperty = getProperty(context, base, property);
+        return beanProperty == null ? false : isReadOnly || beanProperty.setter == null;
+    }
+
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        return base == null || !isBean(base) ? null : Object.class;
+    }
+
+    @Override
+    public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+        if (context == null) {
+            throw new NullPointerException();
+        }
+
+        if (base == null || method == null || !isBean(base)) {
+            return null;
+        }
+
+        Method target = ReflectionUtil.findMethod(base.getClass(), method.toString(), paramTypes, params);
+        Object value = ReflectionUtil.invokeMethod(context, target, base, params);
+        context.setPropertyResolved(base, method);
+        return value;
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.lang;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.glassfish.expressly.stream.StreamELResolver;
+
+import jakarta.el.ArrayELResolver;
+import jakarta.el.BeanNameELResolver;
+import jakarta.el.CompositeELResolver;
+import jakarta.el.ELClass;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.OptionalELResolver;
+import jakarta.el.RecordELResolver;
+import jakarta.el.ResourceBundleELResolver;
+import jakarta.el.StaticFieldELResolver;
+
+/**
+ * A <code>CompositeELResolver</code> that learns which of its resolvers resolves the properties and methods of each
+ * class of base, and asks that resolver first on the next lookups when the order of the resolvers allows it.
+ *
+ * <p>
+ * For each class of base and each operation, such as getting a value or invoking a method, the index of the resolver
+ * that last resolved it is recorded. The recorded resolver is asked first only if each resolver before it is known to
+ * never resolve the bases of that class, so that the first resolver that resolves a lookup still wins, as in the
+ * <code>CompositeELResolver</code>. Only the resolvers of the API that resolve the bases of their own types, such as
+ * the <code>MapELResolver</code> or the <code>ArrayELResolver</code>, and the <code>StreamELResolver</code> of this
+ * implementation, are known; any other resolver may resolve any base. If the recorded resolver does not resolve a
+ * lookup, or cannot be asked first, all the resolvers are asked in order, and the one that resolves it is recorded
+ * instead. Lookups with a <code>null</code> base, which resolve top-level identifiers by name, are not learned.
+ *
+ * <p>
+ * The number of lookups made with the recorded resolver, and of the resolvers that were not asked, are counted.
+ */
+public class AdaptiveCompositeELResolver extends CompositeELResolver {
+
+    private static final int GET_VALUE = 0;
+    private static final int GET_TYPE = 1;
+    private static final int SET_VALUE = 2;
+    private static final int IS_READ_ONLY = 3;
+    private static final int INVOKE = 4;
+    private static final int OPERATIONS = 5;
+
+    /*
+     * The classes of the bases the known resolvers may resolve. They resolve nothing else, with whatever context.
+     */
+    private static final Map<Class<?>, Predicate<Class<?>>> KNOWN_RESOLVERS = Map.of(
+            BeanNameELResolver.class, type -> false,
+            MapELResolver.class, Map.class::isAssignableFrom,
+            ListELResolver.class, List.class::isAssignableFrom,
+            ArrayELResolver.class, Class::isArray,
+            ResourceBundleELResolver.class, ResourceBundle.class::isAssignableFrom,
+            StaticFieldELResolver.class, type -> type == ELClass.class,
+            OptionalELResolver.class, Optional.class::isAssignableFrom,
+            RecordELResolver.class, Record.class::isAssignableFrom,
+            StreamELResolver.class, type -> Collection.class.isAssignableFrom(type) || type.isArray());
+
+    /*
+     * The number of resolvers, from the first one, that are known to never resolve the bases of a class.
+     */
+    private static final class Skipped {
+        final ELResolver[] resolvers;
+        final int count;
+
+        Skipped(ELResolver[] resolvers, int count) {
+            this.resolvers = resolvers;
+            this.count = count;
+        }
+    }
+
+    /*
+     * What is learned about a class of base: the index of the resolver that last resolved each operation, or -1, and
+     * the resolvers that never resolve it, known again after resolvers are added.
+     */
+    private static final class Learned {
+        final int[] indexes = new int[OPERATIONS];
+        volatile Skipped skipped;
+
+        Learned() {
+            Arrays.fill(indexes, -1);
+        }
+    }
+
+    private final ClassValue<Learned> learned = new ClassValue<>() {
+        @Override
+        protected Learned computeValue(Class<?> type) {
+            return new Learned();
+        }
+    };
+
+    private volatile ELResolver[] resolvers = new ELResolver[0];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder savedProbes = new LongAdder();
+
+    @Override
+    public synchronized void add(ELResolver elResolver) {
+        super.add(elResolver);
+
+        ELResolver[] added = Arrays.copyOf(resolvers, resolvers.length + 1);
+        added[resolvers.length] = elResolver;
+        resolvers = added;
+    }
+
+    /**
+     * @return the number of lookups resolved by the resolver recorded for them, asked first
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups with a non-<code>null</code> base that were resolved by asking the resolvers in
+     * order, because no resolver was recorded for them, the recorded one could not be asked first, or it did not
+     * resolve them
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of resolvers that were not asked, as the lookups were resolved by the recorded resolvers
+     */
+    public long getSavedProbes() {
+        return savedProbes.sum();
+    }
+
+    /*
+     * What is learned for the class of a base, or null for a null base.
+     */
+    private Learned getLearned(Object base) {
+        return base == null ? null : learned.get(base.getClass());
+    }
+
+    /*
+     * The index of the resolver to ask first for an operation, or -1 if no resolver is recorded for it, or if a
+     * resolver before the recorded one might resolve the lookup.
+     */
+    private static int getFirst(Learned classLearned, int operation, Object base, ELResolver[] delegates) {
+        if (classLearned == null) {
+            return -1;
+        }
+
+        int first = classLearned.indexes[operation];
+        if (first <= 0) {
+            return first;
+        }
+
+        Skipped skipped = classLearned.skipped;
+        if (skipped == null || skipped.resolvers != delegates) {
+            int count = 0;
+            while (count < delegates.length && neverResolves(delegates[count], base.getClass())) {
+                count++;
+            }
+            skipped = new Skipped(delegates, count);
+            classLearned.skipped = skipped;
+        }
+
+        return first <= skipped.count ? first : -1;
+    }
+
+    private static boolean neverResolves(ELResolver resolver, Class<?> type) {
+        Predicate<Class<?>> resolves = KNOWN_RESOLVERS.get(resolver.getClass());
+        return resolves != null && !resolves.test(type);
+    }
+
+    /*
+     * Record the resolver that resolved a lookup found by asking the resolvers in order.
+     */
+    private void learn(Learned classLearned, int operation, int index) {
+        if (classLearned != null) {
+            classLearned.indexes[operation] = index;
+            misses.increment();
+        }
+    }
+
+    private void hit(int index) {
+        hits.increment();
+        savedProbes.add(index);
+    }
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        context.setPropertyResolved(false);
+
+        ELResolver[] delegates = resolvers;
+        Learned classLearned = getLearned(base);
+        int first = getFirst(classLearned, GET_VALUE, base, delegates);
+        if (first >= 0) {
+            Object value = delegates[first].getValue(context, base, property);
+            if (context.isPropertyResolved()) {
+                hit(first);
+                return value;
+            }
+        }
+
+        for (int i = 0; i < delegates.length; i++) {
+            if (i != first) {
+                Object value = delegates[i].getValue(context, base, property);
+                if (context.isPropertyResolved()) {
+                    learn(classLearned, GET_VALUE, i);
+                    return value;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        context.setPropertyResolved(false);
+
+        ELResolver[] delegates = resolvers;
+        Learned classLearned = getLearned(base);
+        int first = getFirst(classLearned, GET_TYPE, base, delegates);
+        if (first >= 0) {
+            Class<?> type = delegates[first].getType(context, base, property);
+            if (context.isPropertyResolved()) {
+                hit(first);
+                return type;
+            }
+        }
+
+        for (int i = 0; i < delegates.length; i++) {
+            if (i != first) {
+                Class<?> type = delegates[i].getType(context, base, property);
+                if (context.isPropertyResolved()) {
+                    learn(classLearned, GET_TYPE, i);
+                    return type;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        context.setPropertyResolved(false);
+
+        ELResolver[] delegates = resolvers;
+        Learned classLearned = getLearned(base);
+        int first = getFirst(classLearned, SET_VALUE, base, delegates);
+        if (first >= 0) {
+            delegates[first].setValue(context, base, property, value);
+            if (context.isPropertyResolved()) {
+                hit(first);
+                return;
+            }
+        }
+
+        for (int i = 0; i < delegates.length; i++) {
+            if (i != first) {
+                delegates[i].setValue(context, base, property, value);
+                if (context.isPropertyResolved()) {
+                    learn(classLearned, SET_VALUE, i);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        context.setPropertyResolved(false);
+
+        ELResolver[] delegates = resolvers;
+        Learned classLearned = getLearned(base);
+        int first = getFirst(classLearned, IS_READ_ONLY, base, delegates);
+        if (first >= 0) {
+            boolean isReadOnly = delegates[first].isReadOnly(context, base, property);
+            if (context.isPropertyResolved()) {
+                hit(first);
+                return isReadOnly;
+            }
+        }
+
+        for (int i = 0; i < delegates.length; i++) {
+            if (i != first) {
+                boolean isReadOnly = delegates[i].isReadOnly(context, base, property);
+                if (context.isPropertyResolved()) {
+                    learn(classLearned, IS_READ_ONLY, i);
+                    return isReadOnly;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+        context.setPropertyResolved(false);
+
+        ELResolver[] delegates = resolvers;
+        Learned classLearned = getLearned(base);
+        int first = getFirst(classLearned, INVOKE, base, delegates);
+        if (first >= 0) {
+            Object value = delegates[first].invoke(context, base, method, paramTypes, params);
+            if (context.isPropertyResolved()) {
+                hit(first);
+                return value;
+            }
+        }
+
+        for (int i = 0; i < delegates.length; i++) {
+            if (i != first) {
+                Object value = delegates[i].invoke(context, base, method, paramTypes, params);
+                if (context.isPropertyResolved()) {
+                    learn(classLearned, INVOKE, i);
+                    return value;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveCompositeELResolver[" + resolvers.length + " resolvers, " + getHits() + " hits, " + getMisses() + " misses, "
+                + getSavedProbes() + " saved probes]";
+    }
+}
@@ -423,6 +423,29 @@ public class ELSupport {
         return coerceToType(elContext, obj, type, false);
     }
 
+    /**
+     * Coerces a value that is about to be set on a property to the type of the property, first through the
+     * <code>ELResolver</code> and then with the coercion rules of the specification.
+     *
+     * @param ctx the evaluation context
+     * @param value the value to be set
+     * @param targetType the type of the property
+     * @return the coerced value
+     */
+    public final static Object coerceToPropertyType(EvaluationContext ctx, Object value, Class<?> targetType) {
+        ctx.setPropertyResolved(false);
+        Object targetValue = ctx.getELResolver().convertToType(ctx, value, targetType);
+        if (ctx.isPropertyResolved()) {
+            return targetValue;
+        }
+
+        if (value != null || (targetType != null && targetType.isPrimitive())) {
+            return coerceToType(ctx.getELContext(), value, targetType);
+        }
+
+        return value;
+    }
+
     @SuppressWarnings("unchecked")
     public final static <T> T coerceToType(ELContext elContext, final Object obj, final Class<T> type, boolean isEL22Compatible) throws IllegalArgumentException {
         if (type == null || Object.class.equals(type) || (obj != null && type.isAssignableFrom(obj.getClass()))) {
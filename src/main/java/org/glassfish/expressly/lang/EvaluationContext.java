@@ -33,23 +33,102 @@ import jakarta.el.VariableMapper;
  * The context for Jakarta Expression expression evaluation. This wrapper ELContext captures the function mapper and the
  * variable mapper at the point when the expression is parsed, and only for those functions and variable used in the
  * expression.
+ *
+ * <p>
+ * An <code>EvaluationContext</code> is immutable: apart from its mappers and the frame of the Lambda expression it
+ * evaluates, everything is delegated to the wrapped <code>ELContext</code>. Instances are therefore obtained through
+ * {@link #bind}, which reuses an existing context where possible instead of allocating a new wrapper for every
+ * evaluation.
  */
 public final class EvaluationContext extends ELContext {
 
+    /*
+     * The key of the shared instance in the context map of the ELContext it wraps. No one else can look it up, as the
+     * class is private.
+     */
+    private static final class Shared {
+    }
+
     private final ELContext elContext;
     private final FunctionMapper fnMapper;
     private final VariableMapper varMapper;
+    private final LambdaFrame lambdaFrame;
 
     public EvaluationContext(ELContext elContext, FunctionMapper fnMapper, VariableMapper varMapper) {
+        this(elContext, fnMapper, varMapper, null);
+    }
+
+    private EvaluationContext(ELContext elContext, FunctionMapper fnMapper, VariableMapper varMapper, LambdaFrame lambdaFrame) {
         this.elContext = elContext;
         this.fnMapper = fnMapper;
         this.varMapper = varMapper;
+        this.lambdaFrame = lambdaFrame;
+    }
+
+    /**
+     * Returns an <code>EvaluationContext</code> that binds the given mappers to the given <code>ELContext</code>.
+     *
+     * <p>
+     * If <code>elContext</code> is itself an <code>EvaluationContext</code> with the same mappers it is returned as is,
+     * otherwise it is unwrapped first so that evaluation contexts never nest. Expressions that captured no functions
+     * and no variables share a single instance per <code>ELContext</code>, which is kept in the <code>ELContext</code>
+     * under a private key. The shared instance has no mappers and no Lambda expression frame, and as its fields are
+     * final, and {@link #withLambdaFrame} returns a new instance, the evaluation of a Lambda expression body never
+     * changes it.
+     *
+     * @param elContext the context of the caller
+     * @param fnMapper the function mapper captured at parse time, may be <code>null</code>
+     * @param varMapper the variable mapper captured at parse time, may be <code>null</code>
+     * @return an evaluation context for the given mappers
+     */
+    public static EvaluationContext bind(ELContext elContext, FunctionMapper fnMapper, VariableMapper varMapper) {
+        if (elContext instanceof EvaluationContext) {
+            EvaluationContext evaluationContext = (EvaluationContext) elContext;
+            if (evaluationContext.fnMapper == fnMapper && evaluationContext.varMapper == varMapper) {
+                return evaluationContext;
+            }
+
+            elContext = evaluationContext.elContext;
+        }
+
+        if (fnMapper != null || varMapper != null) {
+            return new EvaluationContext(elContext, fnMapper, varMapper);
+        }
+
+        // getContext may be delegated to another ELContext, so check what the cached instance wraps
+        Object cached = elContext.getContext(Shared.class);
+        if (cached instanceof EvaluationContext && ((EvaluationContext) cached).elContext == elContext) {
+            return (EvaluationContext) cached;
+        }
+
+        EvaluationContext evaluationContext = new EvaluationContext(elContext, null, null);
+        elContext.putContext(Shared.class, evaluationContext);
+
+        return evaluationContext;
     }
 
     public ELContext getELContext() {
         return elContext;
     }
 
+    /**
+     * Returns a context for evaluating the body of a Lambda expression, with the same mappers as this one.
+     *
+     * @param lambdaFrame the arguments of the Lambda expression invocation
+     * @return the context for the Lambda expression body
+     */
+    public EvaluationContext withLambdaFrame(LambdaFrame lambdaFrame) {
+        return new EvaluationContext(elContext, fnMapper, varMapper, lambdaFrame);
+    }
+
+    /**
+     * @param depth the number of Lambda expressions between a parameter reference and its declaring Lambda expression
+     * @return the frame holding the parameter, or <code>null</code> if no Lambda expression is evaluated here
+     */
+    public LambdaFrame getLambdaFrame(int depth) {
+        return lambdaFrame == null ? null : lambdaFrame.getFrame(depth);
+    }
+
     @Override
     public FunctionMapper getFunctionMapper() {
         return fnMapper;
@@ -100,6 +179,18 @@ public final class EvaluationContext extends ELContext {
         return elContext.getEvaluationListeners();
     }
 
+    /**
+     * Checks, once per evaluation, whether anybody listens to evaluation events. When this returns
+     * <code>false</code> the caller can skip the <code>notifyBeforeEvaluation</code> and
+     * <code>notifyAfterEvaluation</code> calls entirely.
+     *
+     * @return <code>true</code> if at least one {@link EvaluationListener} is registered with the wrapped context
+     */
+    public boolean hasEvaluationListeners() {
+        List<EvaluationListener> listeners = elContext.getEvaluationListeners();
+        return listeners != null && !listeners.isEmpty();
+    }
+
     @Override
     public void notifyBeforeEvaluation(String expr) {
         elContext.notifyBeforeEvaluation(expr);
@@ -22,6 +22,10 @@ import java.io.StringReader;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.glassfish.expressly.MethodExpressionImpl;
@@ -40,6 +44,7 @@ import org.glassfish.expressly.parser.ELParserTokenManager;
 import org.glassfish.expressly.parser.Node;
 import org.glassfish.expressly.parser.NodeVisitor;
 import org.glassfish.expressly.parser.ParseException;
+import org.glassfish.expressly.parser.PrecompiledExpressions;
 import org.glassfish.expressly.parser.SimpleCharStream;
 import org.glassfish.expressly.util.MessageFactory;
 
@@ -57,21 +62,25 @@ import jakarta.el.VariableMapper;
  */
 public final class ExpressionBuilder implements NodeVisitor {
 
-    static private class NodeSoftReference extends SoftReference<Node> {
+    /*
+     * The soft references of the cache refer to the parsed expressions, which the expressions created for them hold, so
+     * that an expression is kept in the cache as long as it is in use.
+     */
+    static private class NodeSoftReference extends SoftReference<ParsedExpression> {
         final String key;
 
-        NodeSoftReference(String key, Node node, ReferenceQueue<Node> refQ) {
-            super(node, refQ);
+        NodeSoftReference(String key, ParsedExpression parsed, ReferenceQueue<ParsedExpression> refQ) {
+            super(parsed, refQ);
             this.key = key;
         }
     }
 
-    static private class SoftConcurrentHashMap extends ConcurrentHashMap<String, Node> {
+    static private class SoftConcurrentHashMap extends ConcurrentHashMap<String, ParsedExpression> {
 
         private static final long serialVersionUID = 1L;
         private static final int CACHE_INIT_SIZE = 256;
         private ConcurrentHashMap<String, NodeSoftReference> map = new ConcurrentHashMap<>(CACHE_INIT_SIZE);
-        private ReferenceQueue<Node> refQ = new ReferenceQueue<>();
+        private ReferenceQueue<ParsedExpression> refQ = new ReferenceQueue<>();
 
         // Remove map entries that have been placed on the queue by GC.
         private void cleanup() {
@@ -82,21 +91,21 @@ public final class ExpressionBuilder implements NodeVisitor {
         }
 
         @Override
-        public Node put(String key, Node value) {
+        public ParsedExpression put(String key, ParsedExpression value) {
             cleanup();
             NodeSoftReference prev = map.put(key, new NodeSoftReference(key, value, refQ));
             return prev == null ? null : prev.get();
         }
 
         @Override
-        public Node putIfAbsent(String key, Node value) {
+        public ParsedExpression putIfAbsent(String key, ParsedExpression value) {
             cleanup();
             NodeSoftReference prev = map.putIfAbsent(key, new NodeSoftReference(key, value, refQ));
             return prev == null ? null : prev.get();
         }
 
         @Override
-        public Node get(Object key) {
+        public ParsedExpression get(Object key) {
             cleanup();
             NodeSoftReference nodeRef = map.get(key);
             if (nodeRef == null) {
@@ -112,6 +121,7 @@ public final class ExpressionBuilder implements NodeVisitor {
     }
 
     private static final SoftConcurrentHashMap cache = new SoftConcurrentHashMap();
+    private final ELContext ctx;
     private FunctionMapper fnMapper;
     private VariableMapper varMapper;
     private String expression;
@@ -121,78 +131,140 @@ public final class ExpressionBuilder implements NodeVisitor {
      */
     public ExpressionBuilder(String expression, ELContext ctx) throws ELException {
         this.expression = expression;
-
-        FunctionMapper ctxFn = ctx.getFunctionMapper();
-        VariableMapper ctxVar = ctx.getVariableMapper();
-
-        if (ctxFn != null) {
-            this.fnMapper = new FunctionMapperFactory(ctxFn);
-        }
-        if (ctxVar != null) {
-            this.varMapper = new VariableMapperFactory(ctxVar);
-        }
+        this.ctx = ctx;
     }
 
     public static Node createNode(String expr) throws ELException {
-        Node n = createNodeInternal(expr);
-        return n;
+        return createParsedExpression(expr).getNode();
     }
 
-    private static Node createNodeInternal(String expr) throws ELException {
+    /**
+     * @param expr the expression string
+     * @return the parsed expression, which is cached as long as it is held
+     * @throws ELException if the expression cannot be parsed
+     */
+    public static ParsedExpression createParsedExpression(String expr) throws ELException {
         if (expr == null) {
             throw new ELException(MessageFactory.get("error.null"));
         }
 
-        Node node = cache.get(expr);
-        if (node == null) {
-            try {
-                node = (new ELParser(
-                        new ELParserTokenManager(new SimpleCharStream(new StringReader(expr), 1, 1, expr.length() + 1))))
-                                .CompositeExpression();
-
-                // validate composite expression
-                if (node instanceof AstCompositeExpression) {
-                    int numChildren = node.jjtGetNumChildren();
-                    if (numChildren == 1) {
-                        node = node.jjtGetChild(0);
-                    } else {
-                        Class<?> type = null;
-                        Node child = null;
-                        for (int i = 0; i < numChildren; i++) {
-                            child = node.jjtGetChild(i);
-                            if (child instanceof AstLiteralExpression) {
-                                continue;
-                            }
+        ParsedExpression parsed = cache.get(expr);
+        if (parsed == null) {
+            Node node = PrecompiledExpressions.lookup(expr);
+            if (node == null) {
+                node = parse(expr);
+            }
 
-                            if (type == null) {
-                                type = child.getClass();
-                            } else {
-                                if (!type.equals(child.getClass())) {
-                                    throw new ELException(MessageFactory.get("error.mixed", expr));
-                                }
+            List<Node> references = new ArrayList<>();
+            assignSlots(node, new HashMap<>(), new HashMap<>(), references);
+            parsed = new ParsedExpression(expr, node, references);
+            cache.putIfAbsent(expr, parsed);
+        }
+
+        return parsed;
+    }
+
+    private static Node parse(String expr) throws ELException {
+        try {
+            Node node = (new ELParser(
+                    new ELParserTokenManager(new SimpleCharStream(new StringReader(expr), 1, 1, expr.length() + 1))))
+                            .CompositeExpression();
+
+            // validate composite expression
+            if (node instanceof AstCompositeExpression) {
+                int numChildren = node.jjtGetNumChildren();
+                if (numChildren == 1) {
+                    node = node.jjtGetChild(0);
+                } else {
+                    Class<?> type = null;
+                    Node child = null;
+                    for (int i = 0; i < numChildren; i++) {
+                        child = node.jjtGetChild(i);
+                        if (child instanceof AstLiteralExpression) {
+                            continue;
+                        }
+
+                        if (type == null) {
+                            type = child.getClass();
+                        } else {
+                            if (!type.equals(child.getClass())) {
+                                throw new ELException(MessageFactory.get("error.mixed", expr));
                             }
                         }
                     }
                 }
-                if (node instanceof AstDeferredExpression || node instanceof AstDynamicExpression) {
-                    node = node.jjtGetChild(0);
-                }
-                cache.putIfAbsent(expr, node);
-            } catch (ParseException pe) {
-                throw new ELException("Error Parsing: " + expr, pe);
             }
+            if (node instanceof AstDeferredExpression || node instanceof AstDynamicExpression) {
+                node = node.jjtGetChild(0);
+            }
+
+            return node;
+        } catch (ParseException pe) {
+            throw new ELException("Error Parsing: " + expr, pe);
+        }
+    }
+
+    /*
+     * Number the distinct names of the identifiers and of the functions, so that the variables and functions captured for
+     * them can be resolved by index. The numbering only depends on the expression, so it is the same for every parse of
+     * it. The identifiers and functions are also collected, in the order of a visit of the tree.
+     */
+    private static void assignSlots(Node node, Map<String, Integer> variableSlots, Map<String, Integer> functionSlots, List<Node> references) {
+        if (node instanceof AstIdentifier) {
+            AstIdentifier identifier = (AstIdentifier) node;
+            identifier.setVariableSlot(getSlot(identifier.getImage(), variableSlots));
+            references.add(node);
+        } else if (node instanceof AstFunction) {
+            AstFunction function = (AstFunction) node;
+            function.setFunctionSlot(getSlot(function.getOutputName(), functionSlots));
+            if (function.getPrefix().length() == 0) {
+                function.setVariableSlot(getSlot(function.getLocalName(), variableSlots));
+            }
+            references.add(node);
+        }
+
+        for (int i = 0; i < node.jjtGetNumChildren(); i++) {
+            assignSlots(node.jjtGetChild(i), variableSlots, functionSlots, references);
+        }
+    }
+
+    private static int getSlot(String name, Map<String, Integer> slots) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(name, slot);
         }
 
-        return node;
+        return slot;
     }
 
     /**
      * Scan the expression nodes and captures the functions and variables used in this expression. This ensures that any
      * changes to the functions or variables mappings during the expression will not affect the evaluation of this
      * expression, as the functions and variables are bound and resolved at parse time, as specified in the spec.
+     *
+     * <p>
+     * Only the nodes collected when the expression was parsed are visited, and an expression that refers to no function
+     * or variable captures nothing.
      */
-    private void prepare(Node node) throws ELException {
-        node.accept(this);
+    private void prepare(ParsedExpression parsed) throws ELException {
+        if (parsed.references.length == 0) {
+            return;
+        }
+
+        FunctionMapper ctxFn = ctx.getFunctionMapper();
+        VariableMapper ctxVar = ctx.getVariableMapper();
+        if (ctxFn != null) {
+            this.fnMapper = new FunctionMapperFactory(ctxFn);
+        }
+        if (ctxVar != null) {
+            this.varMapper = new VariableMapperFactory(ctxVar);
+        }
+
+        for (Node reference : parsed.references) {
+            visit(reference);
+        }
+
         if (fnMapper instanceof FunctionMapperFactory) {
             fnMapper = ((FunctionMapperFactory) fnMapper).create();
         }
@@ -201,29 +273,25 @@ public final class ExpressionBuilder implements NodeVisitor {
         }
     }
 
-    private Node build() throws ELException {
-        Node node = createNodeInternal(this.expression);
-        prepare(node);
-        if (node instanceof AstDeferredExpression || node instanceof AstDynamicExpression) {
-            node = node.jjtGetChild(0);
-        }
-
-        return node;
+    private ParsedExpression build() throws ELException {
+        // The node of a deferred or a dynamic expression is already unwrapped when it is parsed
+        ParsedExpression parsed = createParsedExpression(this.expression);
+        prepare(parsed);
+        return parsed;
     }
 
     @Override
     public void visit(Node node) throws ELException {
         if (node instanceof AstFunction) {
             AstFunction funcNode = (AstFunction) node;
-            if ((funcNode.getPrefix().length() == 0)
-                    && (fnMapper == null || fnMapper.resolveFunction(funcNode.getPrefix(), funcNode.getLocalName()) == null)) {
+            if ((funcNode.getPrefix().length() == 0) && (fnMapper == null || captureFunction(funcNode) == null)) {
                 // This can be a call to a LambdaExpression. The target
                 // of the call is a bean or an Jakarta Expression variable. Capture
                 // the variable name in the variable mapper if it is an
                 // variable. The decision to invoke the static method or
                 // the LambdaExpression will be made at runtime.
                 if (varMapper != null) {
-                    varMapper.resolveVariable(funcNode.getLocalName());
+                    captureVariable(funcNode.getLocalName(), funcNode.getVariableSlot());
                 }
 
                 return;
@@ -233,7 +301,7 @@ public final class ExpressionBuilder implements NodeVisitor {
                 throw new ELException(MessageFactory.get("error.fnMapper.null"));
             }
 
-            Method functionMethod = fnMapper.resolveFunction(funcNode.getPrefix(), funcNode.getLocalName());
+            Method functionMethod = captureFunction(funcNode);
             if (functionMethod == null) {
                 throw new ELException(MessageFactory.get("error.fnMapper.method", funcNode.getOutputName()));
             }
@@ -244,9 +312,25 @@ public final class ExpressionBuilder implements NodeVisitor {
                 throw new ELException(MessageFactory.get("error.fnMapper.paramcount", funcNode.getOutputName(), parameterCount, argumentCount));
             }
         } else if (node instanceof AstIdentifier && varMapper != null) {
-            String variable = ((AstIdentifier) node).getImage();
+            AstIdentifier identifier = (AstIdentifier) node;
 
             // Simply capture it
+            captureVariable(identifier.getImage(), identifier.getVariableSlot());
+        }
+    }
+
+    private Method captureFunction(AstFunction funcNode) {
+        if (fnMapper instanceof FunctionMapperFactory) {
+            return ((FunctionMapperFactory) fnMapper).resolveFunction(funcNode.getPrefix(), funcNode.getLocalName(), funcNode.getFunctionSlot());
+        }
+
+        return fnMapper.resolveFunction(funcNode.getPrefix(), funcNode.getLocalName());
+    }
+
+    private void captureVariable(String variable, int slot) {
+        if (varMapper instanceof VariableMapperFactory) {
+            ((VariableMapperFactory) varMapper).resolveVariable(variable, slot);
+        } else {
             varMapper.resolveVariable(variable);
         }
     }
@@ -256,10 +340,11 @@ public final class ExpressionBuilder implements NodeVisitor {
     }
 
     public MethodExpression createMethodExpression(Class<?> expectedReturnType, Class<?>[] expectedParamTypes) throws ELException {
-        Node node = build();
+        ParsedExpression parsed = build();
+        Node node = parsed.getNode();
 
         if (node instanceof AstValue || node instanceof AstIdentifier) {
-            return new MethodExpressionImpl(expression, node, fnMapper, varMapper, expectedReturnType, expectedParamTypes);
+            return new MethodExpressionImpl(expression, parsed, fnMapper, varMapper, expectedReturnType, expectedParamTypes);
         }
 
         if (node instanceof AstLiteralExpression) {
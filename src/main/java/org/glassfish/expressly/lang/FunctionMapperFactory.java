@@ -50,6 +50,32 @@ public class FunctionMapperFactory extends FunctionMapper {
         return functionMethod;
     }
 
+    /**
+     * Captures a function and binds it to the slot of the function calls referring to it, so that they can resolve it
+     * without a lookup by name.
+     *
+     * @param prefix the prefix of the function
+     * @param localName the local name of the function
+     * @param slot the function slot assigned to the function calls when the expression was parsed
+     * @return the method of the function, or <code>null</code>
+     */
+    public Method resolveFunction(String prefix, String localName, int slot) {
+        if (slot < 0) {
+            return resolveFunction(prefix, localName);
+        }
+
+        // An expression that resolves no function captures no function mapper
+        Method functionMethod = target.resolveFunction(prefix, localName);
+        if (functionMethod != null && memento == null) {
+            memento = new FunctionMapperImpl();
+        }
+        if (memento != null) {
+            memento.bindSlot(slot, prefix, localName, functionMethod);
+        }
+
+        return functionMethod;
+    }
+
     public FunctionMapper create() {
         return memento;
     }
@@ -28,6 +28,8 @@ import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.glassfish.expressly.util.MethodInvoker;
+
 import jakarta.el.FunctionMapper;
 
 /**
@@ -40,13 +42,40 @@ public class FunctionMapperImpl extends FunctionMapper implements Externalizable
 
     protected Map<String, Function> functions;
 
+    // The functions captured for the function calls of the expression, indexed by their function slot. A slot whose
+    // name is set but whose function is null was looked up and is not a function.
+    private transient String[] slotNames;
+    private transient Function[] slotFunctions;
+
     @Override
     public Method resolveFunction(String prefix, String localName) {
         if (functions == null) {
             return null;
         }
 
-        return functions.get(prefix + ":" + localName).getMethod();
+        Function function = functions.get(prefix + ":" + localName);
+        return function == null ? null : function.getMethod();
+    }
+
+    /**
+     * Resolves a function through the slot assigned to the function call when the expression was parsed, falling back
+     * to a lookup by name when the slot was not bound for this function, such as after deserialization.
+     *
+     * @param slot the function slot of the function call
+     * @param prefix the prefix of the function
+     * @param localName the local name of the function
+     * @return the function, or <code>null</code> if there is no such function
+     */
+    public Function getFunction(int slot, String prefix, String localName) {
+        String[] names = slotNames;
+        if (names != null && slot >= 0 && slot < names.length && localName.equals(names[slot])) {
+            Function function = slotFunctions[slot];
+            if (function == null || prefix.equals(function.prefix)) {
+                return function;
+            }
+        }
+
+        return functions == null ? null : functions.get(prefix + ":" + localName);
     }
 
     public void addFunction(String prefix, String localName, Method method) {
@@ -60,6 +89,33 @@ public class FunctionMapperImpl extends FunctionMapper implements Externalizable
         }
     }
 
+    /*
+     * Records the result of resolving a function through its slot, including a null method for a function call that
+     * does not refer to a function.
+     */
+    void bindSlot(int slot, String prefix, String localName, Method method) {
+        Function function = null;
+        if (method != null) {
+            addFunction(prefix, localName, method);
+            function = functions.get(prefix + ":" + localName);
+        }
+
+        if (slotNames == null || slot >= slotNames.length) {
+            int length = Math.max(slot + 1, slotNames == null ? 4 : slotNames.length * 2);
+            String[] names = new String[length];
+            Function[] slotFunctions = new Function[length];
+            if (slotNames != null) {
+                System.arraycopy(slotNames, 0, names, 0, slotNames.length);
+                System.arraycopy(this.slotFunctions, 0, slotFunctions, 0, this.slotFunctions.length);
+            }
+            this.slotNames = names;
+            this.slotFunctions = slotFunctions;
+        }
+
+        slotNames[slot] = localName;
+        slotFunctions[slot] = function;
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         out.writeObject(functions);
@@ -73,6 +129,8 @@ public class FunctionMapperImpl extends FunctionMapper implements Externalizable
 
     public static class Function implements Externalizable {
 
+        private transient MethodInvoker invoker;
+
         protected transient Method method;
         protected String owner;
         protected String name;
@@ -144,6 +202,20 @@ public class FunctionMapperImpl extends FunctionMapper implements Externalizable
             return method;
         }
 
+        /**
+         * @return the invoker of the method, or <code>null</code> if the method cannot be loaded
+         */
+        public MethodInvoker getInvoker() {
+            if (invoker == null) {
+                Method method = getMethod();
+                if (method != null) {
+                    invoker = MethodInvoker.of(method);
+                }
+            }
+
+            return invoker;
+        }
+
         @Override
         public boolean equals(Object obj) {
             if (obj instanceof Function) {
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.lang;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The arguments of a single Lambda expression invocation.
+ *
+ * <p>
+ * Lambda parameter references are resolved to a (depth, index) slot when the Lambda expression is parsed, and read
+ * straight from the frame array at evaluation time. The frame of the Lambda expression that lexically encloses the one
+ * being invoked is kept as the parent frame, so that nested Lambda expressions can reach the arguments of their
+ * enclosing ones.
+ *
+ * <p>
+ * A frame is also a read-only <code>Map</code> of the parameter names to the arguments. It is pushed with
+ * {@link jakarta.el.ELContext#enterLambdaScope} so that name based lookups, such as those made by other expressions
+ * evaluated while the Lambda expression runs, keep working.
+ */
+public final class LambdaFrame extends AbstractMap<String, Object> {
+
+    private final LambdaFrame parent;
+    private final String[] names;
+    private final Object[] values;
+    private final Map<String, Object> environment;
+
+    /**
+     * @param parent the frame of the lexically enclosing Lambda expression, or <code>null</code>
+     * @param names the parameter names of the Lambda expression
+     * @param values the arguments, in the same order as <code>names</code>
+     * @param environment arguments captured from a Lambda expression that returned this one, or <code>null</code>
+     */
+    public LambdaFrame(LambdaFrame parent, String[] names, Object[] values, Map<String, Object> environment) {
+        this.parent = parent;
+        this.names = names;
+        this.values = values;
+        this.environment = environment;
+    }
+
+    /**
+     * @param depth the number of Lambda expressions between the reference and the Lambda expression declaring it
+     * @return the frame <code>depth</code> levels up, or <code>null</code> if there is no such frame
+     */
+    public LambdaFrame getFrame(int depth) {
+        LambdaFrame frame = this;
+        for (int i = 0; i < depth && frame != null; i++) {
+            frame = frame.parent;
+        }
+
+        return frame;
+    }
+
+    public Object getArgument(int index) {
+        return values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0 || (environment != null && environment.containsKey(key));
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            return values[index];
+        }
+
+        return environment == null ? null : environment.get(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> arguments = environment == null ? new HashMap<>() : new HashMap<>(environment);
+        for (int i = 0; i < names.length; i++) {
+            arguments.put(names[i], values[i]);
+        }
+
+        return Collections.unmodifiableMap(arguments).entrySet();
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.lang;
+
+import java.util.List;
+
+import org.glassfish.expressly.parser.Evaluator;
+import org.glassfish.expressly.parser.Node;
+import org.glassfish.expressly.parser.PrecompiledExpressions;
+import org.glassfish.expressly.parser.TieredEvaluator;
+
+/**
+ * A parsed expression, as it is cached by the {@link ExpressionBuilder}.
+ *
+ * <p>
+ * The cache only keeps a parsed expression while there is memory to spare, or while it is held. The expressions
+ * created for it hold it, so that the expressions created later for the same string get the same node, and share the
+ * same evaluator, as long as one of them is in use.
+ */
+public final class ParsedExpression {
+
+    private final Node node;
+
+    // The nodes that refer to functions or variables, in the order the visitor would find them
+    final Node[] references;
+
+    private final String expression;
+    private final Evaluator evaluator;
+
+    ParsedExpression(String expression, Node node, List<Node> references) {
+        this.expression = expression;
+        this.node = node;
+        this.references = references.toArray(new Node[references.size()]);
+        this.evaluator = TieredEvaluator.isTiered(node) ? new TieredEvaluator(node) : node;
+    }
+
+    /**
+     * @return the root node of the expression
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * @return the evaluator shared by the expressions created for the expression, which is the node itself unless it is
+     * compiled, or if it is precompiled for the application of the context class loader
+     */
+    public Evaluator getEvaluator() {
+        if (evaluator == node || PrecompiledExpressions.isPrecompiled(expression)) {
+            return node;
+        }
+
+        return evaluator;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.lang;
+
+import org.glassfish.expressly.ExpressionFactoryImpl;
+
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.StandardELContext;
+
+/**
+ * A <code>StandardELContext</code> that tells this implementation whether its resolvers are the standard ones.
+ *
+ * <p>
+ * The resolvers of this context are the standard ones as long as it was created for the
+ * <code>ExpressionFactoryImpl</code>, whose <code>StreamELResolver</code> it uses, and no resolver has been added to
+ * it with {@link #addELResolver}. Expressions evaluated with such a context read the elements of maps, lists and arrays
+ * directly, and return the boolean, long and double values they compute without converting them again.
+ *
+ * <p>
+ * The <code>ELManager</code> wraps the contexts it is given in another <code>StandardELContext</code>, so this context
+ * is used by passing it to the expressions directly.
+ */
+public final class StandardELContextImpl extends StandardELContext {
+
+    private final boolean standardFactory;
+    private volatile boolean resolversAdded;
+
+    /**
+     * @param factory the factory of the expressions evaluated with this context
+     */
+    public StandardELContextImpl(ExpressionFactory factory) {
+        super(factory);
+        standardFactory = factory.getClass() == ExpressionFactoryImpl.class;
+    }
+
+    @Override
+    public void addELResolver(ELResolver cELResolver) {
+        resolversAdded = true;
+        super.addELResolver(cELResolver);
+    }
+
+    boolean hasStandardResolvers() {
+        return standardFactory && !resolversAdded;
+    }
+}
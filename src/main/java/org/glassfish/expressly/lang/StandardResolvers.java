@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.lang;
+
+import jakarta.el.ELContext;
+
+/**
+ * Tells whether the resolvers of a context are the standard ones.
+ *
+ * <p>
+ * Only the contexts created as a {@link StandardELContextImpl} are known to have the standard resolvers, as long as no
+ * resolver has been added to them. The resolvers of the other contexts, including the <code>StandardELContext</code>
+ * of the API, may have been added to or replaced in ways this implementation cannot see.
+ */
+public final class StandardResolvers {
+
+    private StandardResolvers() {
+    }
+
+    /**
+     * @param context a context
+     * @return <code>true</code> if the resolvers of the context are known to be the standard ones, so that the bases
+     * they resolve, such as maps, lists and arrays, are resolved as the standard resolvers resolve them
+     */
+    public static boolean isStandard(ELContext context) {
+        return context instanceof StandardELContextImpl && ((StandardELContextImpl) context).hasStandardResolvers();
+    }
+}
@@ -26,7 +26,7 @@ import jakarta.el.VariableMapper;
 public class VariableMapperFactory extends VariableMapper {
 
     private final VariableMapper target;
-    private VariableMapper momento;
+    private VariableMapperImpl momento;
 
     public VariableMapperFactory(VariableMapper target) {
         if (target == null) {
@@ -36,22 +36,43 @@ public class VariableMapperFactory extends VariableMapper {
     }
 
     public VariableMapper create() {
-        return momento;
+        return momento == null || momento.isEmpty() ? null : momento;
     }
 
-    @Override
-    public ValueExpression resolveVariable(String variable) {
+    /**
+     * Captures a variable and binds it to the slot of the identifiers referring to it, so that they can resolve it
+     * without a lookup by name.
+     *
+     * @param variable the name of the variable
+     * @param slot the variable slot assigned to the identifiers when the expression was parsed
+     * @return the <code>ValueExpression</code> assigned to the variable, or <code>null</code>
+     */
+    public ValueExpression resolveVariable(String variable, int slot) {
         ValueExpression valueExpression = target.resolveVariable(variable);
-        if (valueExpression != null) {
-            if (momento == null) {
-                momento = new VariableMapperImpl();
+        if (slot < 0) {
+            if (valueExpression != null) {
+                getMomento().setVariable(variable, valueExpression);
             }
-            momento.setVariable(variable, valueExpression);
+        } else {
+            getMomento().bindSlot(slot, variable, valueExpression);
         }
 
         return valueExpression;
     }
 
+    private VariableMapperImpl getMomento() {
+        if (momento == null) {
+            momento = new VariableMapperImpl();
+        }
+
+        return momento;
+    }
+
+    @Override
+    public ValueExpression resolveVariable(String variable) {
+        return resolveVariable(variable, -1);
+    }
+
     @Override
     public ValueExpression setVariable(String variable, ValueExpression expression) {
         throw new UnsupportedOperationException("Cannot Set Variables on Factory");
@@ -33,6 +33,11 @@ public class VariableMapperImpl extends VariableMapper implements Externalizable
 
     private Map<String, ValueExpression> vars = new HashMap<>();
 
+    // The variables captured for the identifiers of the expression, indexed by their variable slot. A slot whose name is
+    // set but whose expression is null was looked up and is not a variable.
+    private transient String[] slotNames;
+    private transient ValueExpression[] slotExpressions;
+
     public VariableMapperImpl() {
         super();
     }
@@ -42,11 +47,64 @@ public class VariableMapperImpl extends VariableMapper implements Externalizable
         return vars.get(variable);
     }
 
+    /**
+     * Resolves a variable through the slot assigned to it when the expression was parsed, falling back to a lookup by
+     * name when the slot was not bound for this variable, such as after deserialization.
+     *
+     * @param slot the variable slot of the identifier
+     * @param variable the name of the variable
+     * @return the <code>ValueExpression</code> assigned to the variable, or <code>null</code>
+     */
+    public ValueExpression resolveVariable(int slot, String variable) {
+        String[] names = slotNames;
+        if (names != null && slot >= 0 && slot < names.length && variable.equals(names[slot])) {
+            return slotExpressions[slot];
+        }
+
+        return vars.get(variable);
+    }
+
     @Override
     public ValueExpression setVariable(String variable, ValueExpression expression) {
+        if (slotNames != null) {
+            for (int i = 0; i < slotNames.length; i++) {
+                if (variable.equals(slotNames[i])) {
+                    slotExpressions[i] = expression;
+                }
+            }
+        }
+
         return vars.put(variable, expression);
     }
 
+    /*
+     * Records the result of resolving a variable through its slot, including a null expression for an identifier that is
+     * not a variable.
+     */
+    void bindSlot(int slot, String variable, ValueExpression expression) {
+        if (slotNames == null || slot >= slotNames.length) {
+            int length = Math.max(slot + 1, slotNames == null ? 4 : slotNames.length * 2);
+            String[] names = new String[length];
+            ValueExpression[] expressions = new ValueExpression[length];
+            if (slotNames != null) {
+                System.arraycopy(slotNames, 0, names, 0, slotNames.length);
+                System.arraycopy(slotExpressions, 0, expressions, 0, slotExpressions.length);
+            }
+            slotNames = names;
+            slotExpressions = expressions;
+        }
+
+        slotNames[slot] = variable;
+        slotExpressions[slot] = expression;
+        if (expression != null) {
+            vars.put(variable, expression);
+        }
+    }
+
+    boolean isEmpty() {
+        return vars.isEmpty();
+    }
+
     // Safe cast.
     @Override
     @SuppressWarnings("unchecked")
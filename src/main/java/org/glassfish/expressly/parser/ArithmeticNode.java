@@ -25,7 +25,10 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public class ArithmeticNode extends SimpleNode {
+public abstract class ArithmeticNode extends SimpleNode implements Operation {
+
+    // Whether the value is always a Double, as decided by the types of the operands
+    private boolean doubleValued;
 
     /**
      * @param i
@@ -34,8 +37,70 @@ public class ArithmeticNode extends SimpleNode {
         super(i);
     }
 
+    /*
+     * Operands that are always Long or Double values are operated on as doubles, the same way ELArithmetic would for
+     * the operations that have no long form. LongArithmeticNode operates on two Long values as longs instead.
+     */
+    @Override
+    public void jjtClose() {
+        doubleValued = (children[0].isLongValued() || children[0].isDoubleValued())
+                && (children[1].isLongValued() || children[1].isDoubleValued());
+    }
+
     @Override
     public Class<?> getType(EvaluationContext ctx) throws ELException {
         return Number.class;
     }
+
+    @Override
+    public Object getValue(EvaluationContext ctx) throws ELException {
+        return getValue(ctx, children[0], children[1], null);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx) throws ELException {
+        return getLong(ctx, children[0], children[1], null);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return getDouble(ctx, children[0], children[1], null);
+    }
+
+    @Override
+    public Object getValue(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (doubleValued) {
+            return Double.valueOf(apply(operand0.getDouble(ctx), operand1.getDouble(ctx)));
+        }
+
+        return apply(operand0.getValue(ctx), operand1.getValue(ctx));
+    }
+
+    @Override
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Boolean.TYPE);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Long.TYPE);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (doubleValued) {
+            return apply(operand0.getDouble(ctx), operand1.getDouble(ctx));
+        }
+
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Double.TYPE);
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return doubleValued;
+    }
+
+    protected abstract Number apply(Object obj0, Object obj1);
+
+    protected abstract double apply(double num0, double num1);
 }
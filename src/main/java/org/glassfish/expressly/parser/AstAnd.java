@@ -30,14 +30,7 @@ public final class AstAnd extends BooleanNode {
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        Object obj = children[0].getValue(ctx);
-        Boolean b = coerceToBoolean(obj);
-        if (!b.booleanValue()) {
-            return b;
-        }
-        obj = children[1].getValue(ctx);
-        b = coerceToBoolean(obj);
-        return b;
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return getBooleanOperand(operand0, ctx) && getBooleanOperand(operand1, ctx);
     }
 }
@@ -25,44 +25,108 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public final class AstChoice extends SimpleNode {
+public final class AstChoice extends SimpleNode implements Operation {
     public AstChoice(int id) {
         super(id);
     }
 
+    // Whether both alternatives are always of the same type
+    private boolean booleanValued;
+    private boolean longValued;
+    private boolean doubleValued;
+
+    @Override
+    public void jjtClose() {
+        booleanValued = children[1].isBooleanValued() && children[2].isBooleanValued();
+        longValued = children[1].isLongValued() && children[2].isLongValued();
+        doubleValued = children[1].isDoubleValued() && children[2].isDoubleValued();
+    }
+
     @Override
     public Class<?> getType(EvaluationContext ctx) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
-        Boolean b0 = coerceToBoolean(obj0);
-        return this.children[((b0.booleanValue() ? 1 : 2))].getType(ctx);
+        return this.children[getBooleanOperand(children[0], ctx) ? 1 : 2].getType(ctx);
     }
 
     @Override
     public Object getValue(EvaluationContext ctx) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
-        Boolean b0 = coerceToBoolean(obj0);
-        return this.children[((b0.booleanValue() ? 1 : 2))].getValue(ctx);
+        return getValue(ctx, children[0], children[1], children[2]);
+    }
+
+    @Override
+    public boolean getBoolean(EvaluationContext ctx) throws ELException {
+        return getBoolean(ctx, children[0], children[1], children[2]);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx) throws ELException {
+        return getLong(ctx, children[0], children[1], children[2]);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return getDouble(ctx, children[0], children[1], children[2]);
+    }
+
+    @Override
+    public Object getValue(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return (getBooleanOperand(operand0, ctx) ? operand1 : operand2).getValue(ctx);
+    }
+
+    @Override
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (isBooleanValued()) {
+            return (getBooleanOperand(operand0, ctx) ? operand1 : operand2).getBoolean(ctx);
+        }
+
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Boolean.TYPE);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (isLongValued()) {
+            return (getBooleanOperand(operand0, ctx) ? operand1 : operand2).getLong(ctx);
+        }
+
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Long.TYPE);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (isLongValued() || isDoubleValued()) {
+            return (getBooleanOperand(operand0, ctx) ? operand1 : operand2).getDouble(ctx);
+        }
+
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Double.TYPE);
+    }
+
+    @Override
+    public boolean isBooleanValued() {
+        return booleanValued;
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return longValued;
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return doubleValued;
     }
 
     @Override
     public boolean isReadOnly(EvaluationContext ctx) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
-        Boolean b0 = coerceToBoolean(obj0);
-        return this.children[((b0.booleanValue() ? 1 : 2))].isReadOnly(ctx);
+        return this.children[getBooleanOperand(children[0], ctx) ? 1 : 2].isReadOnly(ctx);
     }
 
     @Override
     public void setValue(EvaluationContext ctx, Object value) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
-        Boolean b0 = coerceToBoolean(obj0);
-        this.children[((b0.booleanValue() ? 1 : 2))].setValue(ctx, value);
+        this.children[getBooleanOperand(children[0], ctx) ? 1 : 2].setValue(ctx, value);
     }
 
     @Override
     public Object invoke(EvaluationContext ctx, Class<?>[] paramTypes, Object[] paramValues) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
-        Boolean b0 = coerceToBoolean(obj0);
-        return this.children[((b0.booleanValue() ? 1 : 2))].invoke(ctx, paramTypes, paramValues);
+        return this.children[getBooleanOperand(children[0], ctx) ? 1 : 2].invoke(ctx, paramTypes, paramValues);
     }
 
 }
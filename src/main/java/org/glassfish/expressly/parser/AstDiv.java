@@ -31,9 +31,12 @@ public final class AstDiv extends ArithmeticNode {
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
-        Object obj1 = this.children[1].getValue(ctx);
+    protected Number apply(Object obj0, Object obj1) {
         return ELArithmetic.divide(obj0, obj1);
     }
+
+    @Override
+    protected double apply(double num0, double num1) {
+        return num0 / num1;
+    }
 }
@@ -28,40 +28,33 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public final class AstEmpty extends SimpleNode {
+public final class AstEmpty extends BooleanNode {
     public AstEmpty(int id) {
         super(id);
     }
 
     @Override
-    public Class<?> getType(EvaluationContext ctx) throws ELException {
-        return Boolean.class;
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return isEmpty(operand0.getValue(ctx));
     }
 
     @SuppressWarnings("rawtypes")
-    @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        Object obj = this.children[0].getValue(ctx);
+    static boolean isEmpty(Object obj) {
         if (obj == null) {
-            return Boolean.TRUE;
+            return true;
         }
-
         if (obj instanceof String) {
-            return Boolean.valueOf(((String) obj).length() == 0);
+            return ((String) obj).length() == 0;
         }
-
         if (obj instanceof Object[]) {
-            return Boolean.valueOf(((Object[]) obj).length == 0);
+            return ((Object[]) obj).length == 0;
         }
-
         if (obj instanceof Collection) {
-            return Boolean.valueOf(((Collection) obj).isEmpty());
+            return ((Collection) obj).isEmpty();
         }
-
         if (obj instanceof Map) {
-            return Boolean.valueOf(((Map) obj).isEmpty());
+            return ((Map) obj).isEmpty();
         }
-
-        return Boolean.FALSE;
+        return false;
     }
 }
@@ -30,9 +30,13 @@ public final class AstEqual extends BooleanNode {
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
-        Object obj1 = this.children[1].getValue(ctx);
-        return Boolean.valueOf(equals(obj0, obj1));
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (longOperands) {
+            return operand0.getLong(ctx) == operand1.getLong(ctx);
+        }
+
+        Object obj0 = operand0.getValue(ctx);
+        Object obj1 = operand1.getValue(ctx);
+        return equals(obj0, obj1);
     }
 }
@@ -30,7 +30,7 @@ public final class AstFalse extends BooleanNode {
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        return Boolean.FALSE;
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return false;
     }
 }
@@ -44,6 +44,16 @@ public final class AstFloatingPoint extends SimpleNode {
         return getFloatingPoint();
     }
 
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return isDoubleValued() ? getFloatingPoint().doubleValue() : super.getDouble(ctx);
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return getFloatingPoint() instanceof Double;
+    }
+
     public Number getFloatingPoint() {
         if (number == null) {
             try {
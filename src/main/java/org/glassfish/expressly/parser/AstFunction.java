@@ -21,7 +21,12 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import org.glassfish.expressly.lang.EvaluationContext;
+import org.glassfish.expressly.lang.FunctionMapperImpl;
+import org.glassfish.expressly.lang.FunctionMapperImpl.Function;
+import org.glassfish.expressly.lang.LambdaFrame;
+import org.glassfish.expressly.lang.VariableMapperImpl;
 import org.glassfish.expressly.util.MessageFactory;
+import org.glassfish.expressly.util.MethodInvoker;
 
 import jakarta.el.ELClass;
 import jakarta.el.ELException;
@@ -40,10 +45,52 @@ public final class AstFunction extends SimpleNode {
 
     protected String prefix = "";
 
+    // The frame slot of the Lambda parameter the local name refers to, if any
+    private int lambdaDepth = -1;
+    private int lambdaIndex = -1;
+
+    // The variable slot of the local name, which can name a variable holding a Lambda expression
+    private int variableSlot = -1;
+
+    // The index of this function's name among the function names used in the expression
+    private int functionSlot = -1;
+
     public AstFunction(int id) {
         super(id);
     }
 
+    public int getFunctionSlot() {
+        return functionSlot;
+    }
+
+    public void setFunctionSlot(int functionSlot) {
+        this.functionSlot = functionSlot;
+    }
+
+    public int getVariableSlot() {
+        return variableSlot;
+    }
+
+    public void setVariableSlot(int variableSlot) {
+        this.variableSlot = variableSlot;
+    }
+
+    /**
+     * Binds the local name of this function to a parameter of an enclosing Lambda expression, so that
+     * <code>f(x)</code> invokes the Lambda expression passed as <code>f</code>.
+     *
+     * @param depth the number of Lambda expressions between this function and the one declaring the parameter
+     * @param index the position of the parameter in the declaring Lambda expression
+     */
+    void bindLambdaParameter(int depth, int index) {
+        lambdaDepth = depth;
+        lambdaIndex = index;
+    }
+
+    boolean isLambdaParameterBound() {
+        return lambdaIndex >= 0;
+    }
+
     public String getLocalName() {
         return localName;
     }
@@ -69,7 +116,7 @@ public final class AstFunction extends SimpleNode {
             throw new ELException(MessageFactory.get("error.fnMapper.null"));
         }
 
-        Method functionMethod = functionMapper.resolveFunction(this.prefix, this.localName);
+        Method functionMethod = resolveFunction(functionMapper);
         if (functionMethod == null) {
             throw new ELException(MessageFactory.get("error.fnMapper.method", this.getOutputName()));
         }
@@ -77,11 +124,25 @@ public final class AstFunction extends SimpleNode {
         return functionMethod.getReturnType();
     }
 
+    private Method resolveFunction(FunctionMapper functionMapper) {
+        if (functionMapper instanceof FunctionMapperImpl) {
+            Function function = ((FunctionMapperImpl) functionMapper).getFunction(functionSlot, prefix, localName);
+            return function == null ? null : function.getMethod();
+        }
+
+        return functionMapper.resolveFunction(prefix, localName);
+    }
+
     /*
      * Find the object associated with the given name. Return null if the there is no such object.
      */
     private Object findValue(EvaluationContext ctx, String name) {
         // First check if this is a Lambda argument
+        LambdaFrame lambdaFrame = lambdaIndex < 0 ? null : ctx.getLambdaFrame(lambdaDepth);
+        if (lambdaFrame != null) {
+            return lambdaFrame.getArgument(lambdaIndex);
+        }
+
         if (ctx.isLambdaArgument(name)) {
             return ctx.getLambdaArgument(name);
         }
@@ -89,7 +150,9 @@ public final class AstFunction extends SimpleNode {
         // Next check if this an Jakarta Expression variable
         VariableMapper varMapper = ctx.getVariableMapper();
         if (varMapper != null) {
-            ValueExpression expr = varMapper.resolveVariable(name);
+            ValueExpression expr = varMapper instanceof VariableMapperImpl
+                    ? ((VariableMapperImpl) varMapper).resolveVariable(variableSlot, name)
+                    : varMapper.resolveVariable(name);
             if (expr != null) {
                 return expr.getValue(ctx.getELContext());
             }
@@ -128,31 +191,30 @@ public final class AstFunction extends SimpleNode {
 
         FunctionMapper functionMapper = ctx.getFunctionMapper();
 
-        Method functionMethod = null;
-        if (functionMapper != null) {
-            functionMethod = functionMapper.resolveFunction(this.prefix, this.localName);
+        // The functions of the mapper snapshot of the expression keep their invoker
+        MethodInvoker invoker = null;
+        if (functionMapper instanceof FunctionMapperImpl) {
+            Function function = ((FunctionMapperImpl) functionMapper).getFunction(functionSlot, prefix, localName);
+            if (function != null) {
+                invoker = function.getInvoker();
+            }
+        } else if (functionMapper != null) {
+            Method functionMethod = functionMapper.resolveFunction(prefix, localName);
+            if (functionMethod != null) {
+                invoker = MethodInvoker.of(functionMethod);
+            }
         }
 
-        if (functionMethod == null) {
-            if (this.prefix.length() == 0 && ctx.getImportHandler() != null) {
-
-                // Check if this is a constructor call for an imported class
-                Class<?> resolvedClass = ctx.getImportHandler().resolveClass(this.localName);
-                String methodName = null;
-                if (resolvedClass != null) {
-                    methodName = "<init>";
-                } else {
-                    // Check if this is a imported static method
-                    resolvedClass = ctx.getImportHandler().resolveStatic(this.localName);
-                    methodName = this.localName;
-                    ;
-                }
-
-                if (resolvedClass != null) {
+        if (invoker == null) {
+            if (this.prefix.length() == 0) {
+                // Check if this is a constructor call for an imported class, or an imported static method
+                ImportedClass imported = resolveImport(ctx);
+                if (imported != null) {
                     // Use StaticFieldELResolver to invoke the constructor or the
                     // static method.
+                    String methodName = imported.isStaticMember() ? this.localName : "<init>";
                     Object[] params = ((AstMethodArguments) this.children[0]).getParameters(ctx);
-                    return ctx.getELResolver().invoke(ctx, new ELClass(resolvedClass), methodName, null, params);
+                    return ctx.getELResolver().invoke(ctx, imported.getELClass(), methodName, null, params);
                 }
             }
 
@@ -164,7 +226,7 @@ public final class AstFunction extends SimpleNode {
             throw new ELException(MessageFactory.get("error.fnMapper.method", this.getOutputName()));
         }
 
-        Class<?>[] paramTypes = functionMethod.getParameterTypes();
+        Class<?>[] paramTypes = invoker.getParameterTypes();
         Object[] params = ((AstMethodArguments) this.children[0]).getParameters(ctx);
         Object result = null;
         for (int i = 0; i < params.length; i++) {
@@ -176,7 +238,7 @@ public final class AstFunction extends SimpleNode {
         }
 
         try {
-            result = functionMethod.invoke(null, params);
+            result = invoker.invoke(null, params);
         } catch (IllegalAccessException iae) {
             throw new ELException(MessageFactory.get("error.function", this.getOutputName()), iae);
         } catch (InvocationTargetException ite) {
@@ -186,6 +248,15 @@ public final class AstFunction extends SimpleNode {
         return result;
     }
 
+    private ImportedClass resolveImport(EvaluationContext ctx) {
+        ImportedClass imported = ImportedClass.resolveClass(ctx, localName);
+        if (imported == null) {
+            imported = ImportedClass.resolveStatic(ctx, localName);
+        }
+
+        return imported;
+    }
+
     public void setLocalName(String localName) {
         this.localName = localName;
     }
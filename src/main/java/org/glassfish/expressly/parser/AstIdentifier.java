@@ -19,9 +19,10 @@ package org.glassfish.expressly.parser;
 
 import org.glassfish.expressly.lang.ELSupport;
 import org.glassfish.expressly.lang.EvaluationContext;
+import org.glassfish.expressly.lang.LambdaFrame;
+import org.glassfish.expressly.lang.VariableMapperImpl;
 import org.glassfish.expressly.util.MessageFactory;
 
-import jakarta.el.ELClass;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
 import jakarta.el.MethodExpression;
@@ -39,19 +40,62 @@ import jakarta.el.VariableMapper;
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
 public final class AstIdentifier extends SimpleNode {
+
+    // The frame slot of the Lambda parameter this identifier refers to, if any
+    private int lambdaDepth = -1;
+    private int lambdaIndex = -1;
+
+    // The index of this identifier's name among the names used in the expression
+    private int variableSlot = -1;
+
     public AstIdentifier(int id) {
         super(id);
     }
 
+    public int getVariableSlot() {
+        return variableSlot;
+    }
+
+    public void setVariableSlot(int variableSlot) {
+        this.variableSlot = variableSlot;
+    }
+
+    /**
+     * Binds this identifier to a parameter of an enclosing Lambda expression.
+     *
+     * @param depth the number of Lambda expressions between this identifier and the one declaring the parameter
+     * @param index the position of the parameter in the declaring Lambda expression
+     */
+    void bindLambdaParameter(int depth, int index) {
+        lambdaDepth = depth;
+        lambdaIndex = index;
+    }
+
+    boolean isLambdaParameterBound() {
+        return lambdaIndex >= 0;
+    }
+
+    private LambdaFrame getLambdaFrame(EvaluationContext ctx) {
+        return lambdaIndex < 0 ? null : ctx.getLambdaFrame(lambdaDepth);
+    }
+
+    private ValueExpression resolveVariable(VariableMapper varMapper) {
+        if (varMapper instanceof VariableMapperImpl) {
+            return ((VariableMapperImpl) varMapper).resolveVariable(variableSlot, image);
+        }
+
+        return varMapper.resolveVariable(image);
+    }
+
     @Override
     public Class<?> getType(EvaluationContext ctx) throws ELException {
         // First check if this is a lambda argument
-        if (ctx.isLambdaArgument(image)) {
+        if (getLambdaFrame(ctx) != null || ctx.isLambdaArgument(image)) {
             return Object.class;
         }
         VariableMapper varMapper = ctx.getVariableMapper();
         if (varMapper != null) {
-            ValueExpression expr = varMapper.resolveVariable(image);
+            ValueExpression expr = resolveVariable(varMapper);
             if (expr != null) {
                 return expr.getType(ctx.getELContext());
             }
@@ -69,7 +113,7 @@ public final class AstIdentifier extends SimpleNode {
     public ValueReference getValueReference(EvaluationContext ctx) throws ELException {
         VariableMapper varMapper = ctx.getVariableMapper();
         if (varMapper != null) {
-            ValueExpression expr = varMapper.resolveVariable(this.image);
+            ValueExpression expr = resolveVariable(varMapper);
             if (expr != null) {
                 return expr.getValueReference(ctx.getELContext());
             }
@@ -80,14 +124,34 @@ public final class AstIdentifier extends SimpleNode {
 
     @Override
     public Object getValue(EvaluationContext ctx) throws ELException {
+        return getValue(ctx, false);
+    }
+
+    /**
+     * Evaluates this identifier as the base of a value suffix, where it can also be the simple name of an imported
+     * class.
+     *
+     * @param ctx the evaluation context
+     * @return the value of the identifier, or the <code>ELClass</code> of the imported class it names
+     */
+    Object getValueOrClass(EvaluationContext ctx) throws ELException {
+        return getValue(ctx, true);
+    }
+
+    private Object getValue(EvaluationContext ctx, boolean allowClass) throws ELException {
         // First check if this is a lambda argument
+        LambdaFrame lambdaFrame = getLambdaFrame(ctx);
+        if (lambdaFrame != null) {
+            return lambdaFrame.getArgument(lambdaIndex);
+        }
+
         if (ctx.isLambdaArgument(image)) {
             return ctx.getLambdaArgument(image);
         }
 
         VariableMapper varMapper = ctx.getVariableMapper();
         if (varMapper != null) {
-            ValueExpression expr = varMapper.resolveVariable(image);
+            ValueExpression expr = resolveVariable(varMapper);
             if (expr != null) {
                 return expr.getValue(ctx.getELContext());
             }
@@ -96,12 +160,14 @@ public final class AstIdentifier extends SimpleNode {
         ctx.setPropertyResolved(false);
         Object value = ctx.getELResolver().getValue(ctx, null, image);
         if (!ctx.isPropertyResolved()) {
-            // Check if this is an imported static field
-            if (ctx.getImportHandler() != null) {
-                Class<?> c = ctx.getImportHandler().resolveStatic(image);
-                if (c != null) {
-                    return ctx.getELResolver().getValue(ctx, new ELClass(c), image);
+            // Check if this is an imported static field, or an imported class
+            ImportedClass imported = resolveImport(ctx, allowClass);
+            if (imported != null) {
+                if (imported.isStaticMember()) {
+                    return ctx.getELResolver().getValue(ctx, imported.getELClass(), image);
                 }
+
+                return imported.getELClass();
             }
             ELSupport.throwUnhandled(null, image);
         }
@@ -109,16 +175,27 @@ public final class AstIdentifier extends SimpleNode {
         return value;
     }
 
+    private ImportedClass resolveImport(EvaluationContext ctx, boolean allowClass) {
+        ImportedClass imported = ImportedClass.resolveStatic(ctx, image);
+
+        // The name is only looked up as a class when it is not a static member
+        if (imported == null && allowClass) {
+            imported = ImportedClass.resolveClass(ctx, image);
+        }
+
+        return imported;
+    }
+
     @Override
     public boolean isReadOnly(EvaluationContext ctx) throws ELException {
         // Lambda arguments are read only.
-        if (ctx.isLambdaArgument(image)) {
+        if (getLambdaFrame(ctx) != null || ctx.isLambdaArgument(image)) {
             return true;
         }
 
         VariableMapper varMapper = ctx.getVariableMapper();
         if (varMapper != null) {
-            ValueExpression expr = varMapper.resolveVariable(image);
+            ValueExpression expr = resolveVariable(varMapper);
             if (expr != null) {
                 return expr.isReadOnly(ctx.getELContext());
             }
@@ -136,13 +213,13 @@ public final class AstIdentifier extends SimpleNode {
     @Override
     public void setValue(EvaluationContext ctx, Object value) throws ELException {
         // First check if this is a lambda argument
-        if (ctx.isLambdaArgument(image)) {
+        if (getLambdaFrame(ctx) != null || ctx.isLambdaArgument(image)) {
             throw new PropertyNotWritableException(MessageFactory.get("error.lambda.parameter.readonly", this.image));
         }
 
         VariableMapper varMapper = ctx.getVariableMapper();
         if (varMapper != null) {
-            ValueExpression expr = varMapper.resolveVariable(image);
+            ValueExpression expr = resolveVariable(varMapper);
             if (expr != null) {
                 expr.setValue(ctx.getELContext(), value);
                 return;
@@ -180,7 +257,7 @@ public final class AstIdentifier extends SimpleNode {
         VariableMapper varMapper = ctx.getVariableMapper();
         ValueExpression valueExpression = null;
         if (varMapper != null) {
-            valueExpression = varMapper.resolveVariable(image);
+            valueExpression = resolveVariable(varMapper);
             if (valueExpression != null) {
                 obj = valueExpression.getValue(ctx);
             }
@@ -44,6 +44,21 @@ public final class AstInteger extends SimpleNode {
         return getInteger();
     }
 
+    @Override
+    public long getLong(EvaluationContext ctx) throws ELException {
+        return isLongValued() ? getInteger().longValue() : super.getLong(ctx);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return isLongValued() ? getInteger().doubleValue() : super.getDouble(ctx);
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return getInteger() instanceof Long;
+    }
+
     protected Number getInteger() {
         if (number == null) {
             try {
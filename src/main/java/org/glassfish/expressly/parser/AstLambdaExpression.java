@@ -18,29 +18,68 @@ package org.glassfish.expressly.parser;
 
 import java.util.List;
 
-import org.glassfish.expressly.ValueExpressionImpl;
+import org.glassfish.expressly.LambdaExpressionImpl;
 import org.glassfish.expressly.lang.EvaluationContext;
 import org.glassfish.expressly.util.MessageFactory;
 
 import jakarta.el.ELException;
 import jakarta.el.LambdaExpression;
-import jakarta.el.ValueExpression;
 
 /**
  * @author Kin-man Chung
  */
 public class AstLambdaExpression extends SimpleNode {
 
+    private LambdaExpressionImpl.Template template;
+
     public AstLambdaExpression(int id) {
         super(id);
     }
 
+    /*
+     * Resolve the references to the parameters of this Lambda expression to frame slots. The nested Lambda expressions
+     * have been closed before this one, so references to their own parameters are already bound at this point.
+     */
+    @Override
+    public void jjtClose() {
+        template = new LambdaExpressionImpl.Template(((AstLambdaParameters) children[0]).getParameters(), children[1]);
+        bindParameters(children[1], 0, template.getParameters());
+    }
+
+    private static void bindParameters(Node node, int depth, List<String> parameters) {
+        if (node instanceof AstIdentifier) {
+            AstIdentifier identifier = (AstIdentifier) node;
+            int index = parameters.indexOf(identifier.getImage());
+            if (index >= 0 && !identifier.isLambdaParameterBound()) {
+                identifier.bindLambdaParameter(depth, index);
+            }
+        } else if (node instanceof AstFunction) {
+            AstFunction function = (AstFunction) node;
+            int index = parameters.indexOf(function.getLocalName());
+            if (index >= 0 && function.getPrefix().length() == 0 && !function.isLambdaParameterBound()) {
+                function.bindLambdaParameter(depth, index);
+            }
+        }
+
+        int numChildren = node.jjtGetNumChildren();
+        if (node instanceof AstLambdaExpression) {
+            // Skip the parameters, the body is evaluated one frame deeper and any call arguments in this frame
+            for (int i = 1; i < numChildren; i++) {
+                bindParameters(node.jjtGetChild(i), i == 1 ? depth + 1 : depth, parameters);
+            }
+
+            return;
+        }
+
+        for (int i = 0; i < numChildren; i++) {
+            bindParameters(node.jjtGetChild(i), depth, parameters);
+        }
+    }
+
     @Override
     public Object getValue(EvaluationContext ctx) throws ELException {
-        // Create a lambda expression
-        ValueExpression expr = new ValueExpressionImpl("#{Lambda Expression}", this.children[1], ctx.getFunctionMapper(), ctx.getVariableMapper(), null);
-        List<String> parameters = ((AstLambdaParameters) this.children[0]).getParameters();
-        LambdaExpression lambda = new LambdaExpression(parameters, expr);
+        // Create a lambda expression, closing over the mappers and the current frame
+        LambdaExpression lambda = new LambdaExpressionImpl(template, ctx.getFunctionMapper(), ctx.getVariableMapper(), ctx.getLambdaFrame(0));
         if (this.children.length <= 2) {
             return lambda;
         }
@@ -30,15 +30,19 @@ public final class AstLessThan extends BooleanNode {
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        Object obj0 = this.children[0].getValue(ctx);
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (longOperands) {
+            return operand0.getLong(ctx) < operand1.getLong(ctx);
+        }
+
+        Object obj0 = operand0.getValue(ctx);
         if (obj0 == null) {
-            return Boolean.FALSE;
+            return false;
         }
-        Object obj1 = this.children[1].getValue(ctx);
+        Object obj1 = operand1.getValue(ctx);
         if (obj1 == null) {
-            return Boolean.FALSE;
+            return false;
         }
-        return (compare(obj0, obj1) < 0) ? Boolean.TRUE : Boolean.FALSE;
+        return compare(obj0, obj1) < 0;
     }
 }
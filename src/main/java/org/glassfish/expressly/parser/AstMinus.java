@@ -26,15 +26,23 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public final class AstMinus extends ArithmeticNode {
+public final class AstMinus extends LongArithmeticNode {
     public AstMinus(int id) {
         super(id);
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        return ELArithmetic.subtract(
-            children[0].getValue(ctx),
-            children[1].getValue(ctx));
+    protected Number apply(Object obj0, Object obj1) {
+        return ELArithmetic.subtract(obj0, obj1);
+    }
+
+    @Override
+    protected long apply(long num0, long num1) {
+        return num0 - num1;
+    }
+
+    @Override
+    protected double apply(double num0, double num1) {
+        return num0 - num1;
     }
 }
@@ -26,15 +26,23 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public final class AstMult extends ArithmeticNode {
+public final class AstMult extends LongArithmeticNode {
     public AstMult(int id) {
         super(id);
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        return ELArithmetic.multiply(
-            children[0].getValue(ctx),
-            children[1].getValue(ctx));
+    protected Number apply(Object obj0, Object obj1) {
+        return ELArithmetic.multiply(obj0, obj1);
+    }
+
+    @Override
+    protected long apply(long num0, long num1) {
+        return num0 * num1;
+    }
+
+    @Override
+    protected double apply(double num0, double num1) {
+        return num0 * num1;
     }
 }
@@ -28,11 +28,20 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public final class AstNegative extends SimpleNode {
+public final class AstNegative extends SimpleNode implements Operation {
     public AstNegative(int id) {
         super(id);
     }
 
+    private boolean longValued;
+    private boolean doubleValued;
+
+    @Override
+    public void jjtClose() {
+        longValued = children[0].isLongValued();
+        doubleValued = children[0].isDoubleValued();
+    }
+
     @Override
     public Class<?> getType(EvaluationContext ctx) throws ELException {
         return Number.class;
@@ -40,8 +49,61 @@ public final class AstNegative extends SimpleNode {
 
     @Override
     public Object getValue(EvaluationContext ctx) throws ELException {
-        Object obj = children[0].getValue(ctx);
+        return getValue(ctx, children[0], null, null);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx) throws ELException {
+        return getLong(ctx, children[0], null, null);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return getDouble(ctx, children[0], null, null);
+    }
+
+    @Override
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Boolean.TYPE);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (isLongValued()) {
+            return -operand0.getLong(ctx);
+        }
+
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Long.TYPE);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (isLongValued()) {
+            return -operand0.getLong(ctx);
+        }
+        if (isDoubleValued()) {
+            return -operand0.getDouble(ctx);
+        }
+
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Double.TYPE);
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return longValued;
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return doubleValued;
+    }
+
+    @Override
+    public Object getValue(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return negate(operand0.getValue(ctx));
+    }
 
+    static Object negate(Object obj) {
         if (obj == null) {
             return Long.valueOf(0);
         }
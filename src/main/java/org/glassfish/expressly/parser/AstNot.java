@@ -25,19 +25,13 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public final class AstNot extends SimpleNode {
+public final class AstNot extends BooleanNode {
     public AstNot(int id) {
         super(id);
     }
 
     @Override
-    public Class<?> getType(EvaluationContext ctx) throws ELException {
-        return Boolean.class;
-    }
-
-    @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        return Boolean.valueOf(!coerceToBoolean(
-            children[0].getValue(ctx)).booleanValue());
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return !getBooleanOperand(operand0, ctx);
     }
 }
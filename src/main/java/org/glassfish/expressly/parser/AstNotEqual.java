@@ -31,9 +31,13 @@ public final class AstNotEqual extends BooleanNode {
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        return Boolean.valueOf(!equals(
-            children[0].getValue(ctx),
-            children[1].getValue(ctx)));
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (longOperands) {
+            return operand0.getLong(ctx) != operand1.getLong(ctx);
+        }
+
+        return !equals(
+            operand0.getValue(ctx),
+            operand1.getValue(ctx));
     }
 }
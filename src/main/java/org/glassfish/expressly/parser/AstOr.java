@@ -31,12 +31,7 @@ public final class AstOr extends BooleanNode {
     }
 
     @Override
-    public Object getValue(EvaluationContext ctx) throws ELException {
-        Boolean value = coerceToBoolean(children[0].getValue(ctx));
-        if (value.booleanValue()) {
-            return value;
-        }
-
-        return coerceToBoolean(children[1].getValue(ctx));
+    public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return getBooleanOperand(operand0, ctx) || getBooleanOperand(operand1, ctx);
     }
 }
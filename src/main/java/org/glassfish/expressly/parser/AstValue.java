@@ -17,22 +17,24 @@
 
 package org.glassfish.expressly.parser;
 
-import static org.glassfish.expressly.util.ReflectionUtil.buildParameters;
 import static org.glassfish.expressly.util.ReflectionUtil.findMethod;
 import static org.glassfish.expressly.util.ReflectionUtil.getTypesFromValues;
 import static org.glassfish.expressly.util.ReflectionUtil.invokeMethod;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
 
 import org.glassfish.expressly.lang.ELSupport;
 import org.glassfish.expressly.lang.EvaluationContext;
+import org.glassfish.expressly.lang.StandardResolvers;
 import org.glassfish.expressly.util.MessageFactory;
+import org.glassfish.expressly.util.MethodInvoker;
 import org.glassfish.expressly.util.ReflectionUtil;
 
-import jakarta.el.ELClass;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
-import jakarta.el.ImportHandler;
 import jakarta.el.MethodInfo;
 import jakarta.el.MethodReference;
 import jakarta.el.PropertyNotFoundException;
@@ -46,12 +48,33 @@ import jakarta.el.ValueReference;
  */
 public final class AstValue extends SimpleNode {
 
+    private static final Object NOT_RESOLVED = new Object();
+
+    /*
+     * The literal property of each bracket suffix, such as 'key' in map['key'], or null for the other suffixes,
+     * computed the first time the value is read.
+     */
+    private volatile Object[] literalProperties;
+
+    /*
+     * The base and the last suffix of a value expression. The property and the method arguments are only evaluated
+     * once, the first time they are needed, so that a target can be queried repeatedly without evaluating the
+     * subexpressions again.
+     */
     protected static class Target {
         private final Object base;
 
         private final Node suffixNode;
         private final EvaluationContext ctx;
 
+        private Object property;
+        private boolean propertyEvaluated;
+
+        private Object[] paramValues;
+        private boolean paramValuesEvaluated;
+
+        private Class<?>[] actualParamTypes;
+
         Target(Object base, Node suffixNode, EvaluationContext ctx) {
             this.base = base;
             this.suffixNode = suffixNode;
@@ -67,7 +90,12 @@ public final class AstValue extends SimpleNode {
         }
 
         public Object getProperty() {
-            return suffixNode.getValue(ctx);
+            if (!propertyEvaluated) {
+                property = suffixNode.getValue(ctx);
+                propertyEvaluated = true;
+            }
+
+            return property;
         }
 
         boolean isMethodCall() {
@@ -75,12 +103,13 @@ public final class AstValue extends SimpleNode {
         }
 
         Object[] getParamValues() {
-            AstMethodArguments arguments = getArguments(suffixNode);
-            if (arguments == null) {
-                return null;
+            if (!paramValuesEvaluated) {
+                AstMethodArguments arguments = getArguments(suffixNode);
+                paramValues = arguments == null ? null : arguments.getParameters(ctx);
+                paramValuesEvaluated = true;
             }
 
-            return arguments.getParameters(ctx);
+            return paramValues;
         }
 
         Class<?>[] getFormalParamTypes() {
@@ -99,7 +128,39 @@ public final class AstValue extends SimpleNode {
                 return null;
             }
 
-            return getTypesFromValues(values);
+            if (actualParamTypes == null) {
+                actualParamTypes = getTypesFromValues(values);
+            }
+
+            return actualParamTypes;
+        }
+
+        Method findMethod(Class<?>[] paramTypes) {
+            return ReflectionUtil.findMethod(base.getClass(), getMethodName(), paramTypes, getParamValues());
+        }
+    }
+
+    /**
+     * The <code>MethodInfo</code> of a method resolved on the class of a receiver, which a method expression can keep
+     * for as long as it is invoked on receivers of the same class.
+     */
+    public static final class ResolvedMethodInfo {
+        private final Class<?> receiverClass;
+        private final String methodName;
+        private final MethodInfo methodInfo;
+
+        ResolvedMethodInfo(Class<?> receiverClass, String methodName, MethodInfo methodInfo) {
+            this.receiverClass = receiverClass;
+            this.methodName = methodName;
+            this.methodInfo = methodInfo;
+        }
+
+        public MethodInfo getMethodInfo() {
+            return methodInfo;
+        }
+
+        boolean isResolvedFor(Class<?> receiverClass, String methodName) {
+            return this.receiverClass == receiverClass && methodName.equals(this.methodName);
         }
     }
 
@@ -139,9 +200,11 @@ public final class AstValue extends SimpleNode {
     public Object getValue(EvaluationContext ctx) throws ELException {
         Object value = getBase(ctx);
         int propCount = jjtGetNumChildren();
+        Object[] literals = getLiteralProperties();
         int i = 1;
         while (value != null && i < propCount) {
-            value = getValue(value, children[i], ctx);
+            Object literal = literals[i];
+            value = literal == null ? getValue(value, children[i], ctx) : getPropertyValue(value, literal, ctx);
             i++;
         }
 
@@ -181,16 +244,7 @@ public final class AstValue extends SimpleNode {
         ctx.setPropertyResolved(false);
         Class<?> targetType = elResolver.getType(ctx, target.getBase(), property);
         if (ctx.isPropertyResolved()) {
-            ctx.setPropertyResolved(false);
-            Object targetValue = elResolver.convertToType(ctx, value, targetType);
-
-            if (ctx.isPropertyResolved()) {
-                value = targetValue;
-            } else {
-                if (value != null || (targetType != null && targetType.isPrimitive())) {
-                    value = ELSupport.coerceToType(ctx.getELContext(), value, targetType);
-                }
-            }
+            value = ELSupport.coerceToPropertyType(ctx, value, targetType);
         }
 
         ctx.setPropertyResolved(false);
@@ -202,36 +256,50 @@ public final class AstValue extends SimpleNode {
 
     @Override
     public MethodInfo getMethodInfo(EvaluationContext ctx, Class<?>[] paramTypes) throws ELException {
+        return getMethodInfo(ctx, paramTypes, null).getMethodInfo();
+    }
+
+    /**
+     * Resolves the <code>MethodInfo</code> of the method, reusing the one resolved by a previous call as long as the
+     * receiver is of the same class. The base is still evaluated, only the method lookup is skipped.
+     *
+     * @param ctx the evaluation context
+     * @param paramTypes the parameter types of the method, which must be those of the previous call
+     * @param previous the result of the previous call, or <code>null</code>
+     * @return the resolved <code>MethodInfo</code>, which is <code>previous</code> if it could be reused
+     */
+    public ResolvedMethodInfo getMethodInfo(EvaluationContext ctx, Class<?>[] paramTypes, ResolvedMethodInfo previous) throws ELException {
         Target target = getTarget(ctx);
+        if (target.isMethodCall()) {
+            // The method found can depend on the values of the arguments, so it is never reused
+            return new ResolvedMethodInfo(null, null, toMethodInfo(target.findMethod(paramTypes)));
+        }
 
-        Method method = findMethod(
-                            target.getBase().getClass(),
-                            target.getMethodName(),
-                            paramTypes,
-                            target.getParamValues());
+        Class<?> receiverClass = target.getBase().getClass();
+        String methodName = target.getMethodName();
+        if (previous != null && previous.isResolvedFor(receiverClass, methodName)) {
+            return previous;
+        }
 
-        return new MethodInfo(method.getName(), method.getReturnType(), method.getParameterTypes());
+        return new ResolvedMethodInfo(receiverClass, methodName, toMethodInfo(target.findMethod(paramTypes)));
     }
 
     @Override
     public MethodReference getMethodReference(EvaluationContext ctx) {
+        // The base and the arguments are evaluated once, for both the method and its parameters
         Target target = getTarget(ctx);
-
-        Method method = ReflectionUtil.findMethod(
-                target.getBase().getClass(),
-                target.getMethodName(),
-                target.getActualParamTypes(),
-                target.getParamValues());
+        Class<?>[] actualParamTypes = target.getActualParamTypes();
+        Method method = target.findMethod(actualParamTypes);
 
         return new MethodReference(
             target.getBase(),
-            getMethodInfo(ctx, target.getActualParamTypes()),
+            toMethodInfo(method),
             method.getAnnotations(),
-            buildParameters(
-                ctx.getELContext(),
-                target.getActualParamTypes(),
-                method.isVarArgs(),
-                target.getParamValues()));
+            MethodInvoker.of(method).buildArguments(ctx.getELContext(), target.getParamValues()));
+    }
+
+    private static MethodInfo toMethodInfo(Method method) {
+        return new MethodInfo(method.getName(), method.getReturnType(), method.getParameterTypes());
     }
 
 
@@ -296,37 +364,123 @@ public final class AstValue extends SimpleNode {
 
             ctx.setPropertyResolved(false);
             value = resolver.invoke(ctx, base, property, paramTypes, params);
-        } else {
-            if (property != null) {
-                ctx.setPropertyResolved(false);
-                value = resolver.getValue(ctx, base, property);
-                if (!ctx.isPropertyResolved()) {
-                    ELSupport.throwUnhandled(base, property);
-                }
-            }
+        } else if (property != null) {
+            value = getPropertyValue(base, property, ctx);
         }
 
         return value;
     }
 
-    private Object getBase(EvaluationContext ctx) {
-        try {
-            return children[0].getValue(ctx);
-        } catch (PropertyNotFoundException ex) {
-            // Next check if the base is an imported class
-            if (children[0] instanceof AstIdentifier) {
-                String name = ((AstIdentifier) children[0]).image;
-                ImportHandler importHandler = ctx.getImportHandler();
-                if (importHandler != null) {
-                    Class<?> resolvedClass = importHandler.resolveClass(name);
-                    if (resolvedClass != null) {
-                        return new ELClass(resolvedClass);
-                    }
+    private static Object getPropertyValue(Object base, Object property, EvaluationContext ctx) throws ELException {
+        Object value = getElement(base, property, ctx);
+        if (value != NOT_RESOLVED) {
+            return value;
+        }
+
+        ctx.setPropertyResolved(false);
+        value = ctx.getELResolver().getValue(ctx, base, property);
+        if (!ctx.isPropertyResolved()) {
+            ELSupport.throwUnhandled(base, property);
+        }
+
+        return value;
+    }
+
+    /*
+     * Reads an element of a map, a list or an array as the MapELResolver, the ListELResolver and the ArrayELResolver
+     * do, when they are known to resolve it, or returns NOT_RESOLVED for the other bases, for the indexes that are not
+     * numbers, which the resolvers coerce or report, and for the contexts with other resolvers.
+     */
+    private static Object getElement(Object base, Object property, EvaluationContext ctx) {
+        boolean isMap = base instanceof Map;
+        if (!isMap && !(property instanceof Number && (base instanceof List || base.getClass().isArray()))) {
+            return NOT_RESOLVED;
+        }
+
+        // The ResourceBundleELResolver comes before the ListELResolver
+        if (base instanceof ResourceBundle || !StandardResolvers.isStandard(ctx.getELContext())) {
+            return NOT_RESOLVED;
+        }
+
+        ctx.setPropertyResolved(base, property);
+        if (isMap) {
+            return ((Map<?, ?>) base).get(property);
+        }
+
+        int index = ((Number) property).intValue();
+        if (base instanceof List) {
+            List<?> list = (List<?>) base;
+            return index < 0 || index >= list.size() ? null : list.get(index);
+        }
+
+        return getArrayElement(base, index);
+    }
+
+    /*
+     * Reads an element of an array without reflection, boxing the elements of the arrays of primitive types.
+     */
+    private static Object getArrayElement(Object base, int index) {
+        if (base instanceof Object[]) {
+            Object[] array = (Object[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+        if (base instanceof int[]) {
+            int[] array = (int[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+        if (base instanceof long[]) {
+            long[] array = (long[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+        if (base instanceof double[]) {
+            double[] array = (double[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+        if (base instanceof boolean[]) {
+            boolean[] array = (boolean[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+        if (base instanceof char[]) {
+            char[] array = (char[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+        if (base instanceof byte[]) {
+            byte[] array = (byte[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+        if (base instanceof short[]) {
+            short[] array = (short[]) base;
+            return index < 0 || index >= array.length ? null : array[index];
+        }
+
+        float[] array = (float[]) base;
+        return index < 0 || index >= array.length ? null : array[index];
+    }
+
+    private Object[] getLiteralProperties() {
+        Object[] properties = literalProperties;
+        if (properties == null) {
+            properties = new Object[jjtGetNumChildren()];
+            for (int i = 1; i < properties.length; i++) {
+                Node child = children[i];
+                if (child instanceof AstBracketSuffix && child.jjtGetNumChildren() == 1
+                        && (child.jjtGetChild(0) instanceof AstString || child.jjtGetChild(0) instanceof AstInteger)) {
+                    properties[i] = child.jjtGetChild(0).getValue(null);
                 }
             }
+            literalProperties = properties;
+        }
 
-            throw ex;
+        return properties;
+    }
+
+    private Object getBase(EvaluationContext ctx) {
+        // An identifier base can also be an imported class
+        if (children[0] instanceof AstIdentifier) {
+            return ((AstIdentifier) children[0]).getValueOrClass(ctx);
         }
+
+        return children[0].getValue(ctx);
     }
 
     private Target getTarget(EvaluationContext ctx) throws ELException {
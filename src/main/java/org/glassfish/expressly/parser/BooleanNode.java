@@ -25,7 +25,7 @@ import jakarta.el.ELException;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public class BooleanNode extends SimpleNode {
+public abstract class BooleanNode extends SimpleNode implements Operation {
     /**
      * @param i
      */
@@ -33,8 +33,49 @@ public class BooleanNode extends SimpleNode {
         super(i);
     }
 
+    // Whether both operands are always Long values, so that they can be compared without boxing
+    protected boolean longOperands;
+
+    @Override
+    public void jjtClose() {
+        longOperands = jjtGetNumChildren() == 2 && children[0].isLongValued() && children[1].isLongValued();
+    }
+
     @Override
     public Class<?> getType(EvaluationContext ctx) throws ELException {
         return Boolean.class;
     }
+
+    @Override
+    public Object getValue(EvaluationContext ctx) throws ELException {
+        return Boolean.valueOf(getBoolean(ctx));
+    }
+
+    @Override
+    public boolean getBoolean(EvaluationContext ctx) throws ELException {
+        return getBoolean(ctx, getOperand(0), getOperand(1), null);
+    }
+
+    @Override
+    public Object getValue(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return Boolean.valueOf(getBoolean(ctx, operand0, operand1, operand2));
+    }
+
+    @Override
+    public abstract boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException;
+
+    @Override
+    public long getLong(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Long.TYPE);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Double.TYPE);
+    }
+
+    @Override
+    public boolean isBooleanValued() {
+        return true;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import java.lang.invoke.MethodHandles;
+
+import org.glassfish.expressly.lang.EvaluationContext;
+
+import jakarta.el.ELException;
+
+/**
+ * The template of the classes {@link ExpressionCompiler} defines for the operations of an expression.
+ *
+ * <p>
+ * This class is never used as is. Each operation of a compiled expression gets its own hidden class, defined from the
+ * bytes of this one, with the operation and the evaluators of its operands as class data. As they are held in static
+ * final fields, the JIT compiler sees them as constants: the calls to the operation and to the operands are not shared
+ * with other expressions, and can be inlined.
+ */
+final class CompiledOperation implements Evaluator {
+
+    private static final Operation OPERATION;
+    private static final Evaluator OPERAND0;
+    private static final Evaluator OPERAND1;
+    private static final Evaluator OPERAND2;
+    private static final boolean BOOLEAN_VALUED;
+    private static final boolean LONG_VALUED;
+    private static final boolean DOUBLE_VALUED;
+
+    static {
+        Object[] data = ExpressionCompiler.getClassData(MethodHandles.lookup());
+        OPERATION = (Operation) data[0];
+        OPERAND0 = (Evaluator) data[1];
+        OPERAND1 = (Evaluator) data[2];
+        OPERAND2 = (Evaluator) data[3];
+        BOOLEAN_VALUED = Boolean.TRUE.equals(data[4]);
+        LONG_VALUED = Boolean.TRUE.equals(data[5]);
+        DOUBLE_VALUED = Boolean.TRUE.equals(data[6]);
+    }
+
+    @Override
+    public Object getValue(EvaluationContext ctx) throws ELException {
+        return OPERATION.getValue(ctx, OPERAND0, OPERAND1, OPERAND2);
+    }
+
+    @Override
+    public boolean getBoolean(EvaluationContext ctx) throws ELException {
+        return OPERATION.getBoolean(ctx, OPERAND0, OPERAND1, OPERAND2);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx) throws ELException {
+        return OPERATION.getLong(ctx, OPERAND0, OPERAND1, OPERAND2);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return OPERATION.getDouble(ctx, OPERAND0, OPERAND1, OPERAND2);
+    }
+
+    @Override
+    public boolean isBooleanValued() {
+        return BOOLEAN_VALUED;
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return LONG_VALUED;
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return DOUBLE_VALUED;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledOperation[" + OPERATION + "]";
+    }
+}
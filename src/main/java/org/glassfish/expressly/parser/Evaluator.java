@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import org.glassfish.expressly.lang.EvaluationContext;
+
+import jakarta.el.ELException;
+
+/**
+ * Computes the value of an expression, or of a part of it.
+ *
+ * <p>
+ * Every {@link Node} is an evaluator that interprets its subtree. {@link ExpressionCompiler} creates other evaluators
+ * for a parsed tree, that compute the same values.
+ */
+public interface Evaluator {
+
+    Object getValue(EvaluationContext ctx) throws ELException;
+
+    /**
+     * @return the value coerced to <code>boolean</code>
+     */
+    boolean getBoolean(EvaluationContext ctx) throws ELException;
+
+    /**
+     * @return the value coerced to <code>long</code>
+     */
+    long getLong(EvaluationContext ctx) throws ELException;
+
+    /**
+     * @return the value coerced to <code>double</code>
+     */
+    double getDouble(EvaluationContext ctx) throws ELException;
+
+    /**
+     * @return <code>true</code> if the value is always a <code>Boolean</code>, whatever the context
+     */
+    boolean isBooleanValued();
+
+    /**
+     * @return <code>true</code> if the value is always a <code>Long</code>, whatever the context
+     */
+    boolean isLongValued();
+
+    /**
+     * @return <code>true</code> if the value is always a <code>Double</code>, whatever the context
+     */
+    boolean isDoubleValued();
+}
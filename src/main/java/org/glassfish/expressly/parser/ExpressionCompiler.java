@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+
+import org.glassfish.expressly.lang.EvaluationContext;
+
+import jakarta.el.ELException;
+
+/**
+ * Compiles a parsed expression into evaluators that compute the same values as the tree interpreter.
+ *
+ * <p>
+ * Each {@link Operation} of the tree, such as an arithmetic, relational or logical operator or a choice, is compiled
+ * into an instance of its own hidden class, defined from the bytes of {@link CompiledOperation}. The operation and the
+ * evaluators of its operands are constants of that class, so the JIT compiler can inline a compiled expression as a
+ * whole rather than dispatch through <code>Node.getValue</code> at each level. The values themselves are still computed
+ * by the nodes, so a compiled expression has the semantics of the interpreted one.
+ *
+ * <p>
+ * The other nodes, such as identifiers, property accesses, function calls and literals, are the evaluators of
+ * themselves: they are interpreted, but they are called from a call site of the compiled expression that only ever
+ * sees them. A tree without any operation is not compiled.
+ *
+ * <p>
+ * An expression can also be compiled with speculations, made on values that are usually of the same type: the compiled
+ * code checks the speculation with a guard, and falls back to the generic code when it fails. The value is the same
+ * either way, and the failure is reported so that the expression can be compiled again without speculations.
+ *
+ * <p>
+ * The hidden classes are not strongly bound to their class loader, and are unloaded when their evaluator is no longer
+ * referenced.
+ *
+ * @see TieredEvaluator
+ */
+public final class ExpressionCompiler {
+
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+
+    // The number of elements of the class data of a CompiledOperation
+    private static final int CLASS_DATA_LENGTH = 7;
+
+    /*
+     * The bytes of the CompiledOperation template, or null if they cannot be read, in which case nothing is compiled.
+     */
+    private static final class Template {
+        static final byte[] BYTES = readTemplate();
+
+        private static byte[] readTemplate() {
+            try (InputStream in = ExpressionCompiler.class.getResourceAsStream("CompiledOperation.class")) {
+                if (in == null) {
+                    return null;
+                }
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                in.transferTo(out);
+                return out.toByteArray();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    /*
+     * The concatenation of the literal text and the expressions of a composite expression, such as "a${b}c", compiled
+     * as a chain of concatenations of two parts.
+     */
+    private static final class Concatenation implements Operation {
+
+        static final Concatenation INSTANCE = new Concatenation();
+
+        @Override
+        public Object getValue(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            Object value0 = operand0.getValue(ctx);
+            Object value1 = operand1.getValue(ctx);
+            if (value0 == null) {
+                return value1 == null ? "" : String.valueOf(value1);
+            }
+
+            return value1 == null ? String.valueOf(value0) : String.valueOf(value0).concat(String.valueOf(value1));
+        }
+
+        @Override
+        public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Boolean.TYPE);
+        }
+
+        @Override
+        public long getLong(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Long.TYPE);
+        }
+
+        @Override
+        public double getDouble(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Double.TYPE);
+        }
+
+        @Override
+        public String toString() {
+            return "Concatenation";
+        }
+    }
+
+    /*
+     * Arithmetic on operands whose types are not known from the tree, speculating that they are both Long values, as
+     * is the case for most counters and sizes. The operands are evaluated in the same order either way.
+     */
+    private static final class LongArithmetic implements Operation {
+
+        private final ArithmeticNode node;
+        private final Runnable guardFailure;
+
+        LongArithmetic(ArithmeticNode node, Runnable guardFailure) {
+            this.node = node;
+            this.guardFailure = guardFailure;
+        }
+
+        @Override
+        public Object getValue(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            Object value0 = operand0.getValue(ctx);
+            Object value1 = operand1.getValue(ctx);
+            if (value0 instanceof Long && value1 instanceof Long) {
+                long num0 = (Long) value0;
+                long num1 = (Long) value1;
+                if (node instanceof LongArithmeticNode) {
+                    return Long.valueOf(((LongArithmeticNode) node).apply(num0, num1));
+                }
+
+                return Double.valueOf(node.apply((double) num0, (double) num1));
+            }
+
+            guardFailure.run();
+            return node.apply(value0, value1);
+        }
+
+        @Override
+        public boolean getBoolean(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Boolean.TYPE);
+        }
+
+        @Override
+        public long getLong(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Long.TYPE);
+        }
+
+        @Override
+        public double getDouble(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+            return ctx.convertToType(getValue(ctx, operand0, operand1, operand2), Double.TYPE);
+        }
+
+        @Override
+        public String toString() {
+            return "LongArithmetic[" + node + "]";
+        }
+    }
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * @return <code>true</code> if expressions can be compiled in this environment
+     */
+    public static boolean isAvailable() {
+        return Template.BYTES != null;
+    }
+
+    /**
+     * Compiles a parsed expression.
+     *
+     * @param node the root of the parsed expression
+     * @return the compiled evaluator of the expression, or <code>node</code> if the expression has nothing to compile or
+     * cannot be compiled
+     */
+    public static Evaluator compile(Node node) {
+        return compile(node, null);
+    }
+
+    /**
+     * Compiles a parsed expression, with speculations if a guard failure handler is given.
+     *
+     * @param node the root of the parsed expression
+     * @param guardFailure called each time a speculation of the compiled expression fails, or <code>null</code> to
+     * compile the expression without speculations
+     * @return the compiled evaluator of the expression, or <code>node</code> if the expression has nothing to compile or
+     * cannot be compiled
+     */
+    public static Evaluator compile(Node node, Runnable guardFailure) {
+        if (!isAvailable()) {
+            return node;
+        }
+
+        return compileNode(node, guardFailure);
+    }
+
+    /**
+     * @param node the root of a parsed expression
+     * @return <code>true</code> if the expression has operations that {@link #compile} would compile
+     */
+    public static boolean isCompilable(Node node) {
+        int childCount = node.jjtGetNumChildren();
+        if ((node instanceof AstCompositeExpression && childCount > 1) || (node instanceof Operation && childCount > 0)) {
+            return true;
+        }
+
+        for (int i = 0; i < childCount; i++) {
+            if (isCompilable(node.jjtGetChild(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Evaluator compileNode(Node node, Runnable guardFailure) {
+        if (node instanceof AstDeferredExpression || node instanceof AstDynamicExpression) {
+            return compileNode(node.jjtGetChild(0), guardFailure);
+        }
+
+        int childCount = node.jjtGetNumChildren();
+        if (node instanceof AstCompositeExpression && childCount > 1) {
+            Evaluator[] parts = new Evaluator[childCount];
+            for (int i = 0; i < childCount; i++) {
+                parts[i] = compileNode(node.jjtGetChild(i), guardFailure);
+            }
+
+            Evaluator evaluator = parts[0];
+            for (int i = 1; i < childCount && evaluator != null; i++) {
+                evaluator = define(Concatenation.INSTANCE, evaluator, parts[i], null, null);
+            }
+
+            return evaluator == null ? node : evaluator;
+        }
+
+        if (node instanceof Operation && childCount > 0 && childCount <= 3) {
+            Evaluator[] operands = new Evaluator[3];
+            for (int i = 0; i < childCount; i++) {
+                operands[i] = compileNode(node.jjtGetChild(i), guardFailure);
+            }
+
+            Operation operation = (Operation) node;
+            if (guardFailure != null && node instanceof ArithmeticNode && !node.isLongValued() && !node.isDoubleValued()) {
+                operation = new LongArithmetic((ArithmeticNode) node, guardFailure);
+            }
+
+            Evaluator evaluator = define(operation, operands[0], operands[1], operands[2], node);
+            return evaluator == null ? node : evaluator;
+        }
+
+        return node;
+    }
+
+    /*
+     * Define the hidden class of an operation, and create its evaluator. The types of the value are those of the node,
+     * if any.
+     */
+    private static Evaluator define(Operation operation, Evaluator operand0, Evaluator operand1, Evaluator operand2, Node node) {
+        Object[] classData = new Object[] { operation, operand0, operand1, operand2,
+                node != null && node.isBooleanValued(),
+                node != null && node.isLongValued(),
+                node != null && node.isDoubleValued() };
+
+        try {
+            Lookup lookup = LOOKUP.defineHiddenClassWithClassData(Template.BYTES, classData, true);
+            return (Evaluator) lookup.findConstructor(lookup.lookupClass(), methodType(void.class)).invoke();
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable t) {
+            // The operation is interpreted
+            return null;
+        }
+    }
+
+    /**
+     * @param lookup the lookup of a class defined by this compiler
+     * @return the class data of the class
+     */
+    static Object[] getClassData(Lookup lookup) {
+        Object[] classData = null;
+        try {
+            classData = MethodHandles.classData(lookup, ConstantDescs.DEFAULT_NAME, Object[].class);
+        } catch (IllegalAccessException e) {
+            // Not a class defined by this compiler
+        }
+
+        return classData == null ? new Object[CLASS_DATA_LENGTH] : classData;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.el.ELClass;
+import jakarta.el.ELContext;
+import jakarta.el.ImportHandler;
+
+/**
+ * The class a name resolved to through an <code>ImportHandler</code>, either because the name is the simple name of an
+ * imported class or because it is a statically imported member of the class.
+ *
+ * <p>
+ * The names resolved through the <code>ImportHandler</code> of an <code>ELContext</code> are kept in the
+ * <code>ELContext</code>, so that they live as long as the <code>ELContext</code> and its <code>ImportHandler</code>
+ * do, and the <code>ImportHandler</code> is only consulted once per name. Names that do not resolve are not kept:
+ * evaluating them fails anyway, and imports can still be added to the <code>ImportHandler</code> afterwards.
+ */
+final class ImportedClass {
+
+    /*
+     * The names resolved through an ImportHandler, as simple names of classes and as static members. It is kept in the
+     * ELContext under its own class, which nothing else can look up.
+     */
+    private static final class Resolved {
+        final ImportHandler importHandler;
+        final Map<String, ImportedClass> classes = new HashMap<>();
+        final Map<String, ImportedClass> statics = new HashMap<>();
+
+        Resolved(ImportHandler importHandler) {
+            this.importHandler = importHandler;
+        }
+    }
+
+    private final ELClass elClass;
+    private final boolean staticMember;
+
+    private ImportedClass(Class<?> resolvedClass, boolean staticMember) {
+        this.elClass = new ELClass(resolvedClass);
+        this.staticMember = staticMember;
+    }
+
+    private static Resolved getResolved(ELContext context) {
+        ImportHandler importHandler = context.getImportHandler();
+        if (importHandler == null) {
+            return null;
+        }
+
+        Resolved resolved = (Resolved) context.getContext(Resolved.class);
+        if (resolved == null || resolved.importHandler != importHandler) {
+            resolved = new Resolved(importHandler);
+            context.putContext(Resolved.class, resolved);
+        }
+
+        return resolved;
+    }
+
+    /**
+     * @param context the context, which holds the import handler
+     * @param name the simple name of a class
+     * @return the imported class, or <code>null</code> if no such class is imported
+     */
+    static ImportedClass resolveClass(ELContext context, String name) {
+        Resolved resolved = getResolved(context);
+        if (resolved == null) {
+            return null;
+        }
+
+        ImportedClass imported = resolved.classes.get(name);
+        if (imported == null) {
+            Class<?> resolvedClass = resolved.importHandler.resolveClass(name);
+            if (resolvedClass == null) {
+                return null;
+            }
+            imported = new ImportedClass(resolvedClass, false);
+            resolved.classes.put(name, imported);
+        }
+
+        return imported;
+    }
+
+    /**
+     * @param context the context, which holds the import handler
+     * @param name the name of a static field or method
+     * @return the class of the statically imported member, or <code>null</code> if no such member is imported
+     */
+    static ImportedClass resolveStatic(ELContext context, String name) {
+        Resolved resolved = getResolved(context);
+        if (resolved == null) {
+            return null;
+        }
+
+        ImportedClass imported = resolved.statics.get(name);
+        if (imported == null) {
+            Class<?> resolvedClass = resolved.importHandler.resolveStatic(name);
+            if (resolvedClass == null) {
+                return null;
+            }
+            imported = new ImportedClass(resolvedClass, true);
+            resolved.statics.put(name, imported);
+        }
+
+        return imported;
+    }
+
+    ELClass getELClass() {
+        return elClass;
+    }
+
+    /**
+     * @return <code>true</code> if the name is a static member of the class, <code>false</code> if it is the class
+     */
+    boolean isStaticMember() {
+        return staticMember;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import org.glassfish.expressly.lang.EvaluationContext;
+
+import jakarta.el.ELException;
+
+/**
+ * An arithmetic operation whose result on two <code>Long</code> values is a <code>Long</code>, such as the addition,
+ * as opposed to the division, whose result is always a <code>Double</code>.
+ */
+public abstract class LongArithmeticNode extends ArithmeticNode {
+
+    // Whether the value is always a Long, as decided by the types of the operands
+    private boolean longValued;
+
+    /**
+     * @param i
+     */
+    public LongArithmeticNode(int i) {
+        super(i);
+    }
+
+    /*
+     * Operands that are always Long values are operated on as longs, the same way ELArithmetic would.
+     */
+    @Override
+    public void jjtClose() {
+        super.jjtClose();
+        longValued = children[0].isLongValued() && children[1].isLongValued();
+    }
+
+    @Override
+    public Object getValue(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (longValued) {
+            return Long.valueOf(apply(operand0.getLong(ctx), operand1.getLong(ctx)));
+        }
+
+        return super.getValue(ctx, operand0, operand1, operand2);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (longValued) {
+            return apply(operand0.getLong(ctx), operand1.getLong(ctx));
+        }
+
+        return super.getLong(ctx, operand0, operand1, operand2);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx, Evaluator operand0, Evaluator operand1, Evaluator operand2) throws ELException {
+        if (longValued) {
+            return apply(operand0.getLong(ctx), operand1.getLong(ctx));
+        }
+
+        return super.getDouble(ctx, operand0, operand1, operand2);
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return longValued;
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return !longValued && super.isDoubleValued();
+    }
+
+    protected abstract long apply(long num0, long num1);
+}
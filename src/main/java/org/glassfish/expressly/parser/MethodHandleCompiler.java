@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import static java.lang.invoke.MethodHandles.constant;
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodHandles.filterArguments;
+import static java.lang.invoke.MethodHandles.filterReturnValue;
+import static java.lang.invoke.MethodHandles.foldArguments;
+import static java.lang.invoke.MethodHandles.guardWithTest;
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+
+import org.glassfish.expressly.lang.ELSupport;
+import org.glassfish.expressly.lang.EvaluationContext;
+
+import jakarta.el.ELException;
+
+/**
+ * Compiles a parsed expression into a tree of method handles, built with the combinators of {@link MethodHandles}.
+ *
+ * <p>
+ * This is the middle tier between the tree interpreter and {@link ExpressionCompiler}: it defines no class, so it is
+ * available where class definition is restricted, and it is cheap enough to compile expressions that are only warm.
+ * Operators are compiled into handles of their typed operations, such as <code>apply(long, long)</code> for the
+ * arithmetic of two <code>Long</code> operands, combined with <code>foldArguments</code> and
+ * <code>filterArguments</code> so that the operands are evaluated from left to right. The logical operators and the
+ * choice are compiled with <code>guardWithTest</code>, so they short-circuit as interpreted, and literals are constants.
+ * The JIT compiler sees the whole expression as a single call graph, and can fold the constants in it.
+ *
+ * <p>
+ * The other nodes, such as identifiers, property accesses and function calls, are compiled into a call of the node
+ * itself: their resolution depends on the <code>ELResolver</code> of each evaluation, which caches what it can per
+ * node. A tree without any operation is not compiled.
+ *
+ * @see TieredEvaluator
+ */
+public final class MethodHandleCompiler {
+
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+
+    // The getters of Evaluator, of type (Evaluator, EvaluationContext)T
+    private static final MethodHandle GET_VALUE = findVirtual(Evaluator.class, "getValue", methodType(Object.class, EvaluationContext.class));
+    private static final MethodHandle GET_BOOLEAN = findVirtual(Evaluator.class, "getBoolean", methodType(boolean.class, EvaluationContext.class));
+    private static final MethodHandle GET_LONG = findVirtual(Evaluator.class, "getLong", methodType(long.class, EvaluationContext.class));
+    private static final MethodHandle GET_DOUBLE = findVirtual(Evaluator.class, "getDouble", methodType(double.class, EvaluationContext.class));
+
+    private static final MethodHandle LONG_APPLY = findVirtual(LongArithmeticNode.class, "apply", methodType(long.class, long.class, long.class));
+    private static final MethodHandle DOUBLE_APPLY = findVirtual(ArithmeticNode.class, "apply", methodType(double.class, double.class, double.class));
+    private static final MethodHandle APPLY = findVirtual(ArithmeticNode.class, "apply", methodType(Number.class, Object.class, Object.class));
+
+    private static final MethodHandle COERCE_TO_BOOLEAN = findStatic(ELSupport.class, "coerceToBoolean", methodType(Boolean.class, Object.class))
+            .asType(methodType(boolean.class, Object.class));
+    private static final MethodHandle EQUALS = findStatic(ELSupport.class, "equals", methodType(boolean.class, Object.class, Object.class));
+    private static final MethodHandle IS_EMPTY = findStatic(AstEmpty.class, "isEmpty", methodType(boolean.class, Object.class));
+    private static final MethodHandle NEGATE = findStatic(AstNegative.class, "negate", methodType(Object.class, Object.class));
+
+    private static final MethodHandle IS_NULL = findLocal("isNull", methodType(boolean.class, Object.class));
+    private static final MethodHandle NOT = findLocal("not", methodType(boolean.class, boolean.class));
+    private static final MethodHandle NOT_EQUALS = findLocal("notEqual", methodType(boolean.class, Object.class, Object.class));
+    private static final MethodHandle LESS_THAN = findLocal("lessThan", methodType(boolean.class, Object.class, Object.class));
+    private static final MethodHandle GREATER_THAN = findLocal("greaterThan", methodType(boolean.class, Object.class, Object.class));
+    private static final MethodHandle LESS_THAN_EQUAL = findLocal("lessThanEqual", methodType(boolean.class, Object.class, Object.class));
+    private static final MethodHandle GREATER_THAN_EQUAL = findLocal("greaterThanEqual", methodType(boolean.class, Object.class, Object.class));
+    private static final MethodHandle LONG_EQUALS = findLocal("equal", methodType(boolean.class, long.class, long.class));
+    private static final MethodHandle LONG_NOT_EQUALS = findLocal("notEqual", methodType(boolean.class, long.class, long.class));
+    private static final MethodHandle LONG_LESS_THAN = findLocal("lessThan", methodType(boolean.class, long.class, long.class));
+    private static final MethodHandle LONG_GREATER_THAN = findLocal("greaterThan", methodType(boolean.class, long.class, long.class));
+    private static final MethodHandle LONG_LESS_THAN_EQUAL = findLocal("lessThanEqual", methodType(boolean.class, long.class, long.class));
+    private static final MethodHandle LONG_GREATER_THAN_EQUAL = findLocal("greaterThanEqual", methodType(boolean.class, long.class, long.class));
+    private static final MethodHandle NEGATE_LONG = findLocal("negate", methodType(long.class, long.class));
+    private static final MethodHandle NEGATE_DOUBLE = findLocal("negate", methodType(double.class, double.class));
+    private static final MethodHandle TO_STRING = findLocal("stringOf", methodType(String.class, Object.class));
+    private static final MethodHandle CONCAT = findLocal("concat", methodType(String.class, String.class, Object.class));
+    private static final MethodHandle TO_BOOLEAN = findLocal("toBoolean", methodType(boolean.class, Object.class, EvaluationContext.class));
+    private static final MethodHandle TO_LONG = findLocal("toLong", methodType(long.class, Object.class, EvaluationContext.class));
+    private static final MethodHandle TO_DOUBLE = findLocal("toDouble", methodType(double.class, Object.class, EvaluationContext.class));
+
+    /*
+     * The evaluator of a compiled expression, with one method handle of type (EvaluationContext)T for each of the
+     * types of value.
+     */
+    private static final class CompiledHandles implements Evaluator {
+
+        private final Node node;
+        private final MethodHandle value;
+        private final MethodHandle booleanValue;
+        private final MethodHandle longValue;
+        private final MethodHandle doubleValue;
+
+        CompiledHandles(Node node) {
+            this.node = node;
+            this.value = compile(node, Object.class);
+            this.booleanValue = compile(node, boolean.class);
+            this.longValue = compile(node, long.class);
+            this.doubleValue = compile(node, double.class);
+        }
+
+        @Override
+        public Object getValue(EvaluationContext ctx) throws ELException {
+            try {
+                return (Object) value.invokeExact(ctx);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(EvaluationContext ctx) throws ELException {
+            try {
+                return (boolean) booleanValue.invokeExact(ctx);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public long getLong(EvaluationContext ctx) throws ELException {
+            try {
+                return (long) longValue.invokeExact(ctx);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public double getDouble(EvaluationContext ctx) throws ELException {
+            try {
+                return (double) doubleValue.invokeExact(ctx);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean isBooleanValued() {
+            return node.isBooleanValued();
+        }
+
+        @Override
+        public boolean isLongValued() {
+            return node.isLongValued();
+        }
+
+        @Override
+        public boolean isDoubleValued() {
+            return node.isDoubleValued();
+        }
+
+        @Override
+        public String toString() {
+            return "CompiledHandles[" + node + "]";
+        }
+    }
+
+    private MethodHandleCompiler() {
+    }
+
+    /**
+     * Compiles a parsed expression.
+     *
+     * @param node the root of the parsed expression
+     * @return the compiled evaluator of the expression, or <code>node</code> if the expression has nothing to compile
+     */
+    public static Evaluator compile(Node node) {
+        if (!ExpressionCompiler.isCompilable(node)) {
+            return node;
+        }
+
+        return new CompiledHandles(node);
+    }
+
+    /*
+     * Compile a node into a method handle of type (EvaluationContext)type, where type is Object or a primitive type.
+     */
+    static MethodHandle compile(Node node, Class<?> type) {
+        if (node instanceof AstDeferredExpression || node instanceof AstDynamicExpression) {
+            return compile(node.jjtGetChild(0), type);
+        }
+
+        MethodHandle handle = compileNode(node, type);
+        if (handle != null) {
+            return handle;
+        }
+
+        // The value of an operation that is not of the requested type is converted, the same way as interpreted
+        if (type != Object.class && isCompiled(node)) {
+            return foldArguments(type == boolean.class ? TO_BOOLEAN : type == long.class ? TO_LONG : TO_DOUBLE, compile(node, Object.class));
+        }
+
+        return evaluate(node, type);
+    }
+
+    private static boolean isCompiled(Node node) {
+        return node instanceof Operation || (node instanceof AstCompositeExpression && node.jjtGetNumChildren() > 0) || isConstant(node);
+    }
+
+    static boolean isConstant(Node node) {
+        return node instanceof AstInteger || node instanceof AstFloatingPoint || node instanceof AstString || node instanceof AstNull
+                || node instanceof AstTrue || node instanceof AstFalse || node instanceof AstLiteralExpression;
+    }
+
+    /*
+     * The method handle of a node whose value is naturally of the requested type, or null.
+     */
+    private static MethodHandle compileNode(Node node, Class<?> type) {
+        if (isConstant(node)) {
+            return compileConstant(node, type);
+        }
+        if (node instanceof BooleanNode) {
+            if (type == boolean.class) {
+                return compileBoolean((BooleanNode) node);
+            }
+
+            return type == Object.class ? box(compileBoolean((BooleanNode) node)) : null;
+        }
+        if (node instanceof ArithmeticNode) {
+            return compileArithmetic((ArithmeticNode) node, type);
+        }
+        if (node instanceof AstNegative) {
+            return compileNegative(node, type);
+        }
+        if (node instanceof AstChoice) {
+            return compileChoice(node, type);
+        }
+        if (node instanceof AstCompositeExpression && node.jjtGetNumChildren() > 0 && type == Object.class) {
+            MethodHandle handle = filterReturnValue(compile(node.jjtGetChild(0), Object.class), TO_STRING);
+            for (int i = 1; i < node.jjtGetNumChildren(); i++) {
+                handle = fold(CONCAT, handle, compile(node.jjtGetChild(i), Object.class));
+            }
+
+            return box(handle);
+        }
+
+        return null;
+    }
+
+    private static MethodHandle compileConstant(Node node, Class<?> type) {
+        Object value;
+        if (type == Object.class) {
+            value = node.getValue(null);
+        } else if (type == boolean.class && node.isBooleanValued()) {
+            value = node.getBoolean(null);
+        } else if (type == long.class && node.isLongValued()) {
+            value = node.getLong(null);
+        } else if (type == double.class && (node.isLongValued() || node.isDoubleValued())) {
+            value = node.getDouble(null);
+        } else {
+            return null;
+        }
+
+        return dropArguments(constant(type, value), 0, EvaluationContext.class);
+    }
+
+    private static MethodHandle compileBoolean(BooleanNode node) {
+        if (node instanceof AstAnd) {
+            return guardWithTest(compileCondition(node.jjtGetChild(0)), compileCondition(node.jjtGetChild(1)), always(false));
+        }
+        if (node instanceof AstOr) {
+            return guardWithTest(compileCondition(node.jjtGetChild(0)), always(true), compileCondition(node.jjtGetChild(1)));
+        }
+        if (node instanceof AstNot) {
+            return filterReturnValue(compileCondition(node.jjtGetChild(0)), NOT);
+        }
+        if (node instanceof AstEmpty) {
+            return filterReturnValue(compile(node.jjtGetChild(0), Object.class), IS_EMPTY);
+        }
+        if (node.jjtGetNumChildren() != 2) {
+            return evaluate(node, boolean.class);
+        }
+
+        if (node.longOperands) {
+            MethodHandle comparison = node instanceof AstEqual ? LONG_EQUALS
+                    : node instanceof AstNotEqual ? LONG_NOT_EQUALS
+                    : node instanceof AstLessThan ? LONG_LESS_THAN
+                    : node instanceof AstGreaterThan ? LONG_GREATER_THAN
+                    : node instanceof AstLessThanEqual ? LONG_LESS_THAN_EQUAL
+                    : node instanceof AstGreaterThanEqual ? LONG_GREATER_THAN_EQUAL : null;
+
+            return comparison == null ? evaluate(node, boolean.class)
+                    : fold(comparison, compile(node.jjtGetChild(0), long.class), compile(node.jjtGetChild(1), long.class));
+        }
+
+        MethodHandle operand0 = compile(node.jjtGetChild(0), Object.class);
+        MethodHandle operand1 = compile(node.jjtGetChild(1), Object.class);
+        if (node instanceof AstEqual) {
+            return fold(EQUALS, operand0, operand1);
+        }
+        if (node instanceof AstNotEqual) {
+            return fold(NOT_EQUALS, operand0, operand1);
+        }
+        if (node instanceof AstLessThanEqual) {
+            return fold(LESS_THAN_EQUAL, operand0, operand1);
+        }
+        if (node instanceof AstGreaterThanEqual) {
+            return fold(GREATER_THAN_EQUAL, operand0, operand1);
+        }
+
+        // The second operand of < and > is not evaluated when the first one is null
+        MethodHandle comparison = node instanceof AstLessThan ? LESS_THAN : node instanceof AstGreaterThan ? GREATER_THAN : null;
+        if (comparison == null) {
+            return evaluate(node, boolean.class);
+        }
+
+        MethodHandle compare = foldArguments(dropArguments(comparison, 2, EvaluationContext.class), 1, operand1);
+        MethodHandle nullFirst = dropArguments(constant(boolean.class, false), 0, Object.class, EvaluationContext.class);
+        return foldArguments(guardWithTest(IS_NULL, nullFirst, compare), operand0);
+    }
+
+    private static MethodHandle compileArithmetic(ArithmeticNode node, Class<?> type) {
+        Node child0 = node.jjtGetChild(0);
+        Node child1 = node.jjtGetChild(1);
+        if (node.isLongValued()) {
+            if (type == boolean.class) {
+                return null;
+            }
+
+            MethodHandle handle = fold(LONG_APPLY.bindTo(node), compile(child0, long.class), compile(child1, long.class));
+            return handle.asType(methodType(type, EvaluationContext.class));
+        }
+        if (node.isDoubleValued()) {
+            if (type != Object.class && type != double.class) {
+                return null;
+            }
+
+            MethodHandle handle = fold(DOUBLE_APPLY.bindTo(node), compile(child0, double.class), compile(child1, double.class));
+            return handle.asType(methodType(type, EvaluationContext.class));
+        }
+
+        return type == Object.class ? box(fold(APPLY.bindTo(node), compile(child0, Object.class), compile(child1, Object.class))) : null;
+    }
+
+    private static MethodHandle compileNegative(Node node, Class<?> type) {
+        Node child = node.jjtGetChild(0);
+        if (node.isLongValued()) {
+            if (type == boolean.class) {
+                return null;
+            }
+
+            return filterReturnValue(compile(child, long.class), NEGATE_LONG).asType(methodType(type, EvaluationContext.class));
+        }
+        if (node.isDoubleValued()) {
+            if (type != Object.class && type != double.class) {
+                return null;
+            }
+
+            return filterReturnValue(compile(child, double.class), NEGATE_DOUBLE).asType(methodType(type, EvaluationContext.class));
+        }
+
+        return type == Object.class ? filterReturnValue(compile(child, Object.class), NEGATE) : null;
+    }
+
+    private static MethodHandle compileChoice(Node node, Class<?> type) {
+        boolean natural = type == Object.class
+                || (type == boolean.class && node.isBooleanValued())
+                || (type == long.class && node.isLongValued())
+                || (type == double.class && (node.isLongValued() || node.isDoubleValued()));
+        if (!natural) {
+            return null;
+        }
+
+        return guardWithTest(compileCondition(node.jjtGetChild(0)), compile(node.jjtGetChild(1), type), compile(node.jjtGetChild(2), type));
+    }
+
+    /*
+     * A boolean operand, coerced to a boolean unless it always is one, as SimpleNode.getBooleanOperand.
+     */
+    private static MethodHandle compileCondition(Node node) {
+        if (node.isBooleanValued()) {
+            return compile(node, boolean.class);
+        }
+
+        return filterReturnValue(compile(node, Object.class), COERCE_TO_BOOLEAN);
+    }
+
+    /*
+     * The node itself, evaluated by the interpreter.
+     */
+    private static MethodHandle evaluate(Node node, Class<?> type) {
+        MethodHandle getter = type == boolean.class ? GET_BOOLEAN : type == long.class ? GET_LONG : type == double.class ? GET_DOUBLE : GET_VALUE;
+        return getter.bindTo(node);
+    }
+
+    /*
+     * Combine an operation of type (A, B)R with the handles of its operands, of types (EvaluationContext)A and
+     * (EvaluationContext)B, into a handle of type (EvaluationContext)R that evaluates the first operand first.
+     */
+    private static MethodHandle fold(MethodHandle operation, MethodHandle operand0, MethodHandle operand1) {
+        return foldArguments(filterArguments(operation, 1, operand1), operand0);
+    }
+
+    private static MethodHandle always(boolean value) {
+        return dropArguments(constant(boolean.class, value), 0, EvaluationContext.class);
+    }
+
+    private static MethodHandle box(MethodHandle handle) {
+        return handle.asType(methodType(Object.class, EvaluationContext.class));
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+
+        return new ELException(t);
+    }
+
+    private static MethodHandle findVirtual(Class<?> type, String name, MethodType methodType) {
+        try {
+            return LOOKUP.findVirtual(type, name, methodType);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle findStatic(Class<?> type, String name, MethodType methodType) {
+        try {
+            return LOOKUP.findStatic(type, name, methodType);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle findLocal(String name, MethodType methodType) {
+        return findStatic(MethodHandleCompiler.class, name, methodType);
+    }
+
+    // The operations the compiled handles are built with
+
+    private static boolean isNull(Object obj) {
+        return obj == null;
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+
+    private static boolean notEqual(Object obj0, Object obj1) {
+        return !ELSupport.equals(obj0, obj1);
+    }
+
+    private static boolean lessThan(Object obj0, Object obj1) {
+        return obj1 != null && ELSupport.compare(obj0, obj1) < 0;
+    }
+
+    private static boolean greaterThan(Object obj0, Object obj1) {
+        return obj1 != null && ELSupport.compare(obj0, obj1) > 0;
+    }
+
+    private static boolean lessThanEqual(Object obj0, Object obj1) {
+        if (obj0 == obj1) {
+            return true;
+        }
+
+        return obj0 != null && obj1 != null && ELSupport.compare(obj0, obj1) <= 0;
+    }
+
+    private static boolean greaterThanEqual(Object obj0, Object obj1) {
+        if (obj0 == obj1) {
+            return true;
+        }
+
+        return obj0 != null && obj1 != null && ELSupport.compare(obj0, obj1) >= 0;
+    }
+
+    private static boolean equal(long num0, long num1) {
+        return num0 == num1;
+    }
+
+    private static boolean notEqual(long num0, long num1) {
+        return num0 != num1;
+    }
+
+    private static boolean lessThan(long num0, long num1) {
+        return num0 < num1;
+    }
+
+    private static boolean greaterThan(long num0, long num1) {
+        return num0 > num1;
+    }
+
+    private static boolean lessThanEqual(long num0, long num1) {
+        return num0 <= num1;
+    }
+
+    private static boolean greaterThanEqual(long num0, long num1) {
+        return num0 >= num1;
+    }
+
+    private static long negate(long num) {
+        return -num;
+    }
+
+    private static double negate(double num) {
+        return -num;
+    }
+
+    private static String stringOf(Object obj) {
+        return obj == null ? "" : String.valueOf(obj);
+    }
+
+    private static String concat(String str, Object obj) {
+        return obj == null ? str : str.concat(String.valueOf(obj));
+    }
+
+    private static boolean toBoolean(Object value, EvaluationContext ctx) {
+        return ctx.convertToType(value, Boolean.TYPE);
+    }
+
+    private static long toLong(Object value, EvaluationContext ctx) {
+        return ctx.convertToType(value, Long.TYPE);
+    }
+
+    private static double toDouble(Object value, EvaluationContext ctx) {
+        return ctx.convertToType(value, Double.TYPE);
+    }
+}
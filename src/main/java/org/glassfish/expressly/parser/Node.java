@@ -32,7 +32,7 @@ import jakarta.el.ValueReference;
  * @author Jacob Hookom [jacob@hookom.net]
  * @version $Change: 181177 $$DateTime: 2001/06/26 08:45:09 $$Author: kchung $
  */
-public interface Node {
+public interface Node extends Evaluator {
 
     /**
      * This method is called after the node has been made the current node. It indicates that child nodes can now be added
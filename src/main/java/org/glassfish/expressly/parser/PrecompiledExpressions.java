@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.glassfish.expressly.parser.ELParserTreeConstants.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.glassfish.expressly.lang.ExpressionBuilder;
+import org.glassfish.expressly.util.MessageFactory;
+
+import jakarta.el.ELException;
+
+/**
+ * Expressions parsed at build time, so that they are not parsed again when the application creates them.
+ *
+ * <p>
+ * The expressions of an application are listed in a manifest, one expression string per line, such as:
+ *
+ * <pre>
+ * // The types of the top-level identifiers, used to check the expressions
+ * &#64;customer org.example.Customer
+ * &#64;count int
+ * ${customer.name}
+ * #{customer.orders[count].total * 1.2}
+ * </pre>
+ *
+ * Blank lines and lines starting with <code>//</code> are ignored, and lines starting with <code>&#64;</code> declare
+ * the type of an identifier. Running this class with the manifest and the output directory of the application's
+ * classes, for instance with the <code>exec-maven-plugin</code> in the <code>process-classes</code> phase,
+ *
+ * <pre>
+ * java org.glassfish.expressly.parser.PrecompiledExpressions expressions.txt target/classes
+ * </pre>
+ *
+ * parses the expressions, checks them with {@link TypeInference}, and writes their parsed trees to the index
+ * {@value #INDEX}, which is packaged with the classes. The build fails on a syntax or a type error.
+ *
+ * <p>
+ * When the application creates an expression that is not in the parse cache, the indexes visible from the context
+ * class loader are looked up before the expression string is parsed. A precompiled expression is interpreted, it is
+ * never compiled into classes at runtime.
+ */
+public final class PrecompiledExpressions {
+
+    /**
+     * The name of the index resource.
+     */
+    public static final String INDEX = "META-INF/expressly/expressions.idx";
+
+    private static final int MAGIC = 0x454c4958;
+    private static final int VERSION = 1;
+
+    // The encoded trees of the indexes visible from a class loader, by expression string
+    private static final ConcurrentHashMap<LoaderReference, Map<String, byte[]>> INDEXES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ClassLoader> COLLECTED = new ReferenceQueue<>();
+
+    /*
+     * The class loaders are weakly referenced, so that the indexes do not keep the applications alive, and compared by
+     * identity.
+     */
+    private static final class LoaderReference extends WeakReference<ClassLoader> {
+        private final int hash;
+
+        LoaderReference(ClassLoader loader, ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            this.hash = System.identityHashCode(loader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            ClassLoader loader = get();
+            return obj instanceof LoaderReference && loader != null && ((LoaderReference) obj).get() == loader;
+        }
+    }
+
+    private PrecompiledExpressions() {
+    }
+
+    /**
+     * Precompiles the expressions of a manifest.
+     *
+     * @param args the manifest file and the output directory
+     * @throws IOException if the manifest cannot be read or the index cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: java " + PrecompiledExpressions.class.getName() + " <manifest> <output directory>");
+            System.exit(2);
+        }
+
+        List<String> errors;
+        try (Reader manifest = Files.newBufferedReader(Paths.get(args[0]), UTF_8)) {
+            errors = precompile(manifest, new File(args[1]));
+        }
+
+        for (String error : errors) {
+            System.err.println(error);
+        }
+        if (!errors.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Precompiles the expressions of a manifest into the index of an output directory.
+     *
+     * @param manifest the manifest
+     * @param outputDirectory the directory the index is written to, under {@value #INDEX}
+     * @return the syntax and type errors of the expressions, in which case the index is not written
+     * @throws IOException if the manifest cannot be read or the index cannot be written
+     */
+    public static List<String> precompile(Reader manifest, File outputDirectory) throws IOException {
+        Map<String, Type> declaredTypes = new HashMap<>();
+        Map<String, Node> nodes = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(manifest);
+        int lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("//")) {
+                continue;
+            }
+
+            if (trimmed.startsWith("@")) {
+                String[] declaration = trimmed.substring(1).trim().split("\\s+");
+                try {
+                    declaredTypes.put(declaration[0], forName(declaration[1]));
+                } catch (ClassNotFoundException | ArrayIndexOutOfBoundsException e) {
+                    errors.add(lineNumber + ": " + MessageFactory.get("error.precompiled.declaration", trimmed));
+                }
+                continue;
+            }
+
+            try {
+                nodes.put(line, ExpressionBuilder.createNode(line));
+            } catch (ELException e) {
+                errors.add(lineNumber + ": " + e.getMessage());
+            }
+        }
+
+        for (Map.Entry<String, Node> entry : nodes.entrySet()) {
+            for (String error : TypeInference.infer(entry.getValue(), declaredTypes).getErrors()) {
+                errors.add(entry.getKey() + ": " + error);
+            }
+        }
+
+        if (errors.isEmpty()) {
+            Path index = outputDirectory.toPath().resolve(INDEX);
+            Files.createDirectories(index.getParent());
+            try (OutputStream out = Files.newOutputStream(index)) {
+                write(nodes, out);
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Looks up a precompiled expression in the indexes visible from the context class loader.
+     *
+     * @param expression the expression string
+     * @return the parsed tree of the expression, as {@link ExpressionBuilder#createNode(String)} returns it, or
+     * <code>null</code> if the expression is not precompiled
+     */
+    public static Node lookup(String expression) {
+        byte[] tree = getIndex().get(expression);
+        if (tree == null) {
+            return null;
+        }
+
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(tree)));
+        } catch (IOException e) {
+            // The index was checked when it was loaded
+            throw new ELException(e);
+        }
+    }
+
+    /**
+     * Tells whether an expression is precompiled for the application of the context class loader. The parsed
+     * expressions are cached for all the applications, so this is decided for each application rather than with the
+     * parsed expression.
+     *
+     * @param expression the expression string
+     * @return <code>true</code> if the expression is in the indexes visible from the context class loader
+     */
+    public static boolean isPrecompiled(String expression) {
+        return getIndex().containsKey(expression);
+    }
+
+    private static Map<String, byte[]> getIndex() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = PrecompiledExpressions.class.getClassLoader();
+        }
+        if (loader == null) {
+            loader = ClassLoader.getSystemClassLoader();
+        }
+
+        // Only the first lookup from a class loader loads its indexes, the others do not lock
+        Map<String, byte[]> index = INDEXES.get(new LoaderReference(loader, null));
+        if (index == null) {
+            expungeCollected();
+            ClassLoader indexLoader = loader;
+            index = INDEXES.computeIfAbsent(new LoaderReference(loader, COLLECTED), key -> load(indexLoader));
+        }
+
+        return index;
+    }
+
+    private static void expungeCollected() {
+        for (Reference<? extends ClassLoader> collected = COLLECTED.poll(); collected != null; collected = COLLECTED.poll()) {
+            INDEXES.remove(collected);
+        }
+    }
+
+    private static Map<String, byte[]> load(ClassLoader loader) {
+        Map<String, byte[]> index = new HashMap<>();
+        try {
+            Enumeration<URL> resources = loader.getResources(INDEX);
+            while (resources.hasMoreElements()) {
+                try (InputStream in = resources.nextElement().openStream()) {
+                    load(new DataInputStream(in), index);
+                }
+            }
+        } catch (IOException e) {
+            // Expressions that are not indexed are parsed
+        }
+
+        return index.isEmpty() ? Collections.emptyMap() : index;
+    }
+
+    private static void load(DataInputStream in, Map<String, byte[]> index) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            return;
+        }
+
+        Map<String, byte[]> entries = new HashMap<>();
+        for (int count = in.readInt(); count > 0; count--) {
+            String expression = readString(in);
+            byte[] tree = new byte[in.readInt()];
+            in.readFully(tree);
+            entries.put(expression, tree);
+        }
+
+        // The first index on the class path wins, as for classes
+        entries.forEach(index::putIfAbsent);
+    }
+
+    private static void write(Map<String, Node> nodes, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(nodes.size());
+        for (Map.Entry<String, Node> entry : nodes.entrySet()) {
+            ByteArrayOutputStream tree = new ByteArrayOutputStream();
+            DataOutputStream treeData = new DataOutputStream(tree);
+            write(entry.getValue(), treeData);
+            treeData.flush();
+
+            writeString(data, entry.getKey());
+            data.writeInt(tree.size());
+            tree.writeTo(data);
+        }
+        data.flush();
+    }
+
+    /*
+     * A node is written before its children: its id, its image, the names of a function, and its number of children.
+     */
+    private static void write(Node node, DataOutputStream out) throws IOException {
+        out.writeByte(((SimpleNode) node).id);
+        writeString(out, node.getImage());
+        if (node instanceof AstFunction) {
+            writeString(out, ((AstFunction) node).getPrefix());
+            writeString(out, ((AstFunction) node).getLocalName());
+        }
+
+        out.writeInt(node.jjtGetNumChildren());
+        for (int i = 0; i < node.jjtGetNumChildren(); i++) {
+            write(node.jjtGetChild(i), out);
+        }
+    }
+
+    private static Node read(DataInputStream in) throws IOException {
+        SimpleNode node = newNode(in.readByte());
+        node.jjtOpen();
+        node.setImage(readString(in));
+        if (node instanceof AstFunction) {
+            ((AstFunction) node).setPrefix(readString(in));
+            ((AstFunction) node).setLocalName(readString(in));
+        }
+
+        Node[] children = new Node[in.readInt()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = read(in);
+            children[i].jjtSetParent(node);
+        }
+
+        // The last child first, as the parser adds them, so that the array of children is only allocated once
+        for (int i = children.length - 1; i >= 0; i--) {
+            node.jjtAddChild(children[i], i);
+        }
+
+        // As the parser does, once the children are closed, such as to bind the parameters of a Lambda expression
+        node.jjtClose();
+
+        return node;
+    }
+
+    private static SimpleNode newNode(int id) throws IOException {
+        switch (id) {
+        case JJTCOMPOSITEEXPRESSION:
+            return new AstCompositeExpression(id);
+        case JJTLITERALEXPRESSION:
+            return new AstLiteralExpression(id);
+        case JJTDEFERREDEXPRESSION:
+            return new AstDeferredExpression(id);
+        case JJTDYNAMICEXPRESSION:
+            return new AstDynamicExpression(id);
+        case JJTSEMICOLON:
+            return new AstSemiColon(id);
+        case JJTASSIGN:
+            return new AstAssign(id);
+        case JJTLAMBDAEXPRESSION:
+            return new AstLambdaExpression(id);
+        case JJTLAMBDAPARAMETERS:
+            return new AstLambdaParameters(id);
+        case JJTCHOICE:
+            return new AstChoice(id);
+        case JJTOR:
+            return new AstOr(id);
+        case JJTAND:
+            return new AstAnd(id);
+        case JJTEQUAL:
+            return new AstEqual(id);
+        case JJTNOTEQUAL:
+            return new AstNotEqual(id);
+        case JJTLESSTHAN:
+            return new AstLessThan(id);
+        case JJTGREATERTHAN:
+            return new AstGreaterThan(id);
+        case JJTLESSTHANEQUAL:
+            return new AstLessThanEqual(id);
+        case JJTGREATERTHANEQUAL:
+            return new AstGreaterThanEqual(id);
+        case JJTCONCAT:
+            return new AstConcat(id);
+        case JJTPLUS:
+            return new AstPlus(id);
+        case JJTMINUS:
+            return new AstMinus(id);
+        case JJTMULT:
+            return new AstMult(id);
+        case JJTDIV:
+            return new AstDiv(id);
+        case JJTMOD:
+            return new AstMod(id);
+        case JJTNEGATIVE:
+            return new AstNegative(id);
+        case JJTNOT:
+            return new AstNot(id);
+        case JJTEMPTY:
+            return new AstEmpty(id);
+        case JJTVALUE:
+            return new AstValue(id);
+        case JJTDOTSUFFIX:
+            return new AstDotSuffix(id);
+        case JJTBRACKETSUFFIX:
+            return new AstBracketSuffix(id);
+        case JJTMETHODARGUMENTS:
+            return new AstMethodArguments(id);
+        case JJTMAPDATA:
+            return new AstMapData(id);
+        case JJTMAPENTRY:
+            return new AstMapEntry(id);
+        case JJTLISTDATA:
+            return new AstListData(id);
+        case JJTIDENTIFIER:
+            return new AstIdentifier(id);
+        case JJTFUNCTION:
+            return new AstFunction(id);
+        case JJTTRUE:
+            return new AstTrue(id);
+        case JJTFALSE:
+            return new AstFalse(id);
+        case JJTFLOATINGPOINT:
+            return new AstFloatingPoint(id);
+        case JJTINTEGER:
+            return new AstInteger(id);
+        case JJTSTRING:
+            return new AstString(id);
+        case JJTNULL:
+            return new AstNull(id);
+        default:
+            throw new IOException("Unknown node " + id);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static Class<?> forName(String name) throws ClassNotFoundException {
+        switch (name) {
+        case "boolean":
+            return boolean.class;
+        case "char":
+            return char.class;
+        case "byte":
+            return byte.class;
+        case "short":
+            return short.class;
+        case "int":
+            return int.class;
+        case "long":
+            return long.class;
+        case "float":
+            return float.class;
+        case "double":
+            return double.class;
+        default:
+            return Class.forName(name, false, Thread.currentThread().getContextClassLoader());
+        }
+    }
+}
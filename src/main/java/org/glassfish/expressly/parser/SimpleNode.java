@@ -40,6 +40,10 @@ public abstract class SimpleNode extends ELSupport implements Node {
     protected Node[] children;
     protected String image;
 
+    // The structural hash code, computed once the tree is complete; hashIsZero tells a computed 0 from no hash yet
+    private int hash;
+    private boolean hashIsZero;
+
     public SimpleNode(int i) {
         id = i;
     }
@@ -137,6 +141,58 @@ public abstract class SimpleNode extends ELSupport implements Node {
         throw new UnsupportedOperationException();
     }
 
+    /*
+     * The typed getters coerce the value as the expected type of an expression would. Nodes whose value always has the
+     * type compute it without boxing.
+     */
+    @Override
+    public boolean getBoolean(EvaluationContext ctx) throws ELException {
+        return ctx.convertToType(getValue(ctx), Boolean.TYPE);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx) throws ELException {
+        return ctx.convertToType(getValue(ctx), Long.TYPE);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return ctx.convertToType(getValue(ctx), Double.TYPE);
+    }
+
+    @Override
+    public boolean isBooleanValued() {
+        return false;
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return false;
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return false;
+    }
+
+    /*
+     * The child at an index, or null if there is no such child, as an operand of an Operation.
+     */
+    protected Evaluator getOperand(int index) {
+        return children != null && index < children.length ? children[index] : null;
+    }
+
+    /*
+     * Evaluate an operand of a boolean operator.
+     */
+    protected static boolean getBooleanOperand(Evaluator operand, EvaluationContext ctx) throws ELException {
+        if (operand.isBooleanValued()) {
+            return operand.getBoolean(ctx);
+        }
+
+        return coerceToBoolean(operand.getValue(ctx)).booleanValue();
+    }
+
     @Override
     public ValueReference getValueReference(EvaluationContext ctx) throws ELException {
         return null;
@@ -183,8 +239,12 @@ public abstract class SimpleNode extends ELSupport implements Node {
             return false;
         }
 
+        if (this == node) {
+            return true;
+        }
+
         SimpleNode simpleNode = (SimpleNode) node;
-        if (this.id != simpleNode.id) {
+        if (this.id != simpleNode.id || hashCode() != simpleNode.hashCode()) {
             return false;
         }
 
@@ -224,8 +284,26 @@ public abstract class SimpleNode extends ELSupport implements Node {
         return false;
     }
 
+    /*
+     * Nodes are not modified once parsed, so the hash code is only computed once. The hash codes of the children are
+     * themselves cached, which makes comparing trees that are not equal cheap.
+     */
     @Override
     public int hashCode() {
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = computeHashCode();
+            if (h == 0) {
+                hashIsZero = true;
+            } else {
+                hash = h;
+            }
+        }
+
+        return h;
+    }
+
+    private int computeHashCode() {
         if (this.children == null || this.children.length == 0) {
             if (this.image != null) {
                 return this.image.hashCode();
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.glassfish.expressly.lang.EvaluationContext;
+
+import jakarta.el.ELException;
+
+/**
+ * Evaluates a parsed expression with the tree interpreter until it is warm, then with the expression compiled by
+ * {@link MethodHandleCompiler} until it is hot, and then with the expression compiled by {@link ExpressionCompiler}.
+ *
+ * <p>
+ * The evaluations are counted, and each time they reach the compile threshold, the expression is compiled into the
+ * next tier by a background thread while the evaluations go on in the current one. The compiled evaluator is swapped
+ * in once it is ready, and the evaluations are counted again from zero. Where classes cannot be defined, the expression
+ * stays in the tier of method handles.
+ *
+ * <p>
+ * The hidden classes of the last tier are compiled with speculations; if one of them fails, the evaluator goes back to
+ * the tier of method handles, and the expression is compiled again, without speculations, once it is hot again.
+ *
+ * <p>
+ * There is one tiered evaluator per parsed expression, shared by the expressions created for the same expression
+ * string. The compile threshold is set with the <code>org.glassfish.expressly.compileThreshold</code> system property,
+ * and a negative threshold turns tiered evaluation off.
+ */
+public final class TieredEvaluator implements Evaluator {
+
+    /**
+     * The tiers an expression is evaluated in, from the first to the last.
+     */
+    public enum Tier {
+        /** The tree interpreter */
+        INTERPRETER,
+        /** The method handles compiled by {@link MethodHandleCompiler} */
+        HANDLES,
+        /** The hidden classes compiled by {@link ExpressionCompiler} */
+        CLASSES
+    }
+
+    private static final int COMPILE_THRESHOLD = Integer.getInteger("org.glassfish.expressly.compileThreshold", 2000);
+
+    // The evaluations are counted, the expression is being compiled, or it is in its last tier
+    private static final int COUNTING = 0;
+    private static final int QUEUED = 1;
+    private static final int DONE = 2;
+
+    private static final AtomicIntegerFieldUpdater<TieredEvaluator> STATE = AtomicIntegerFieldUpdater.newUpdater(TieredEvaluator.class, "state");
+
+    /*
+     * A single daemon thread compiles the expressions, and stops when there is nothing to compile. Expressions that do
+     * not fit in the queue stay interpreted until they are evaluated again.
+     */
+    private static final class Compiler {
+        static final Executor EXECUTOR = createExecutor();
+
+        private static Executor createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+                Thread thread = new Thread(runnable, "expressly-compiler");
+                thread.setDaemon(true);
+                thread.setContextClassLoader(null);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+
+            return executor;
+        }
+    }
+
+    private final Node node;
+    private final int threshold;
+    private final Executor executor;
+
+    private volatile Evaluator current;
+    private volatile Tier tier = Tier.INTERPRETER;
+    private volatile int state;
+
+    // The evaluator of the tier of method handles, once compiled
+    private volatile Evaluator handles;
+
+    // Counts are not exact when the expression is evaluated concurrently, which does not matter for a threshold
+    private int count;
+
+    private volatile boolean speculate = true;
+
+    // The guard failure handler of the current compiled evaluator
+    private volatile Runnable speculations;
+
+    /**
+     * @param node the root of the parsed expression
+     * @return whether the evaluations of the expression are counted, and the expression compiled once it is hot
+     */
+    public static boolean isTiered(Node node) {
+        return COMPILE_THRESHOLD >= 0 && ExpressionCompiler.isCompilable(node);
+    }
+
+    /**
+     * Creates a tiered evaluator with the compile threshold of the system property.
+     *
+     * @param node the root of the parsed expression
+     */
+    public TieredEvaluator(Node node) {
+        this(node, COMPILE_THRESHOLD, Compiler.EXECUTOR);
+    }
+
+    /**
+     * @param node the root of the parsed expression
+     * @param threshold the number of evaluations after which the expression is compiled into the next tier
+     * @param executor the executor compiling the expression
+     */
+    public TieredEvaluator(Node node, int threshold, Executor executor) {
+        this.node = node;
+        this.threshold = threshold;
+        this.executor = executor;
+        this.current = node;
+    }
+
+    @Override
+    public Object getValue(EvaluationContext ctx) throws ELException {
+        return select().getValue(ctx);
+    }
+
+    @Override
+    public boolean getBoolean(EvaluationContext ctx) throws ELException {
+        return select().getBoolean(ctx);
+    }
+
+    @Override
+    public long getLong(EvaluationContext ctx) throws ELException {
+        return select().getLong(ctx);
+    }
+
+    @Override
+    public double getDouble(EvaluationContext ctx) throws ELException {
+        return select().getDouble(ctx);
+    }
+
+    @Override
+    public boolean isBooleanValued() {
+        return node.isBooleanValued();
+    }
+
+    @Override
+    public boolean isLongValued() {
+        return node.isLongValued();
+    }
+
+    @Override
+    public boolean isDoubleValued() {
+        return node.isDoubleValued();
+    }
+
+    /**
+     * @return the tier the expression is evaluated in
+     */
+    public Tier getTier() {
+        return tier;
+    }
+
+    /**
+     * @return <code>true</code> if the expression is evaluated by a compiled evaluator
+     */
+    public boolean isCompiled() {
+        return tier != Tier.INTERPRETER;
+    }
+
+    /**
+     * Compiles the expression now, in the calling thread, into its last tier, unless it is already compiled into it.
+     *
+     * @return <code>true</code> if the expression is compiled
+     */
+    public boolean compile() {
+        while (STATE.compareAndSet(this, COUNTING, QUEUED)) {
+            install();
+        }
+
+        return isCompiled();
+    }
+
+    private Evaluator select() {
+        Evaluator evaluator = current;
+        if (state == COUNTING && ++count >= threshold) {
+            schedule();
+        }
+
+        return evaluator;
+    }
+
+    private void schedule() {
+        if (STATE.compareAndSet(this, COUNTING, QUEUED)) {
+            try {
+                executor.execute(this::install);
+            } catch (RejectedExecutionException e) {
+                count = 0;
+                state = COUNTING;
+            }
+        }
+    }
+
+    /*
+     * Compile the expression into the next tier. An expression that cannot be compiled stays queued, and is no longer
+     * counted.
+     */
+    private void install() {
+        if (tier == Tier.INTERPRETER) {
+            Evaluator compiled = MethodHandleCompiler.compile(node);
+            if (compiled != node) {
+                handles = compiled;
+                promote(compiled, Tier.HANDLES, ExpressionCompiler.isAvailable() ? COUNTING : DONE);
+            }
+
+            return;
+        }
+
+        Evaluator compiled;
+        if (speculate) {
+            Runnable guardFailure = new Runnable() {
+                @Override
+                public void run() {
+                    deoptimize(this);
+                }
+            };
+            compiled = ExpressionCompiler.compile(node, guardFailure);
+            speculations = guardFailure;
+        } else {
+            compiled = ExpressionCompiler.compile(node);
+        }
+
+        if (compiled != node) {
+            promote(compiled, Tier.CLASSES, DONE);
+        }
+    }
+
+    private void promote(Evaluator compiled, Tier next, int nextState) {
+        current = compiled;
+        tier = next;
+        count = 0;
+        state = nextState;
+    }
+
+    /*
+     * Go back to the tier of method handles when a speculation of the current compiled evaluator fails. Failures
+     * reported by an evaluator that has already been replaced are ignored.
+     */
+    private void deoptimize(Runnable guardFailure) {
+        if (speculations == guardFailure && STATE.compareAndSet(this, DONE, QUEUED)) {
+            speculations = null;
+            speculate = false;
+            promote(handles, Tier.HANDLES, COUNTING);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TieredEvaluator[" + tier + ", " + current + "]";
+    }
+}
@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.parser;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.glassfish.expressly.util.MessageFactory;
+
+/**
+ * The static types of the nodes of a parsed expression, inferred from the types declared for its top-level
+ * identifiers.
+ *
+ * <p>
+ * The type of an identifier is its declared type, a <code>Class</code> or a generic <code>Type</code> such as
+ * <code>List&lt;Order&gt;</code>. The types of property accesses are inferred from the bean properties of the type of
+ * their base, or from the type arguments of a <code>Map</code>, a <code>List</code> or an array, the types of literals
+ * from their values, and the types of operators from the rules of <code>ELArithmetic</code> and
+ * <code>ELSupport</code>. Nodes whose type cannot be inferred, such as function calls, Lambda expressions and the
+ * properties of an <code>Object</code>, have the type <code>Object</code>.
+ *
+ * <p>
+ * The inference reports the errors it can detect before the expression is evaluated, such as an operand that cannot be
+ * coerced to a number or a boolean, or a property that the declared type does not have.
+ *
+ * <p>
+ * The inferred types hold as long as the values of the identifiers are of their declared types. The analysis does not
+ * change how the expression is evaluated: the values are still checked and coerced at runtime, where an
+ * <code>ELResolver</code> can also convert them.
+ */
+public final class TypeInference {
+
+    private final Map<String, ? extends Type> declaredTypes;
+    private final Map<Node, Type> types = new IdentityHashMap<>();
+    private final Set<Node> nonNull = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<String> errors = new ArrayList<>();
+
+    // The parameters of the enclosing Lambda expressions, which hide the declared identifiers
+    private final Map<String, Integer> lambdaParameters = new HashMap<>();
+
+    private TypeInference(Map<String, ? extends Type> declaredTypes) {
+        this.declaredTypes = declaredTypes;
+    }
+
+    /**
+     * Infers the types of the nodes of a parsed expression.
+     *
+     * @param node the root of the parsed expression
+     * @param declaredTypes the types of the top-level identifiers, by name; identifiers without a declared type are of
+     * type <code>Object</code>
+     * @return the inferred types
+     */
+    public static TypeInference infer(Node node, Map<String, ? extends Type> declaredTypes) {
+        TypeInference inference = new TypeInference(declaredTypes);
+        inference.visit(node);
+        return inference;
+    }
+
+    /**
+     * @param node a node of the expression
+     * @return the static type of the value of the node, <code>Object</code> if it is not known
+     */
+    public Type getType(Node node) {
+        Type type = types.get(node);
+        return type == null ? Object.class : type;
+    }
+
+    /**
+     * @param node a node of the expression
+     * @return the class of the static type of the value of the node, <code>Object</code> if it is not known
+     */
+    public Class<?> getRawType(Node node) {
+        return getRawClass(getType(node));
+    }
+
+    /**
+     * @param node a node of the expression
+     * @return <code>true</code> if the value of the node is never <code>null</code>
+     */
+    public boolean isNonNull(Node node) {
+        return nonNull.contains(node);
+    }
+
+    /**
+     * @return the errors detected in the expression, empty if there are none
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    private Type visit(Node node) {
+        Type type = inferType(node);
+        types.put(node, type);
+        return type;
+    }
+
+    private Type inferType(Node node) {
+        if (node instanceof AstDeferredExpression || node instanceof AstDynamicExpression) {
+            Node child = node.jjtGetChild(0);
+            Type type = visit(child);
+            setNonNull(node, isNonNull(child));
+            return type;
+        }
+        if (node instanceof AstNull) {
+            return Object.class;
+        }
+        if (MethodHandleCompiler.isConstant(node)) {
+            nonNull.add(node);
+            return node.getValue(null).getClass();
+        }
+        if (node instanceof AstIdentifier) {
+            return inferIdentifier((AstIdentifier) node);
+        }
+        if (node instanceof AstValue) {
+            return inferValue(node);
+        }
+        if (node instanceof ArithmeticNode) {
+            return inferArithmetic(node);
+        }
+        if (node instanceof AstNegative) {
+            return inferNegative(node);
+        }
+        if (node instanceof AstChoice) {
+            return inferChoice(node);
+        }
+        if (node instanceof AstLambdaExpression) {
+            visitLambda(node);
+            return Object.class;
+        }
+
+        visitChildren(node);
+        if (node instanceof AstAnd || node instanceof AstOr || node instanceof AstNot) {
+            for (int i = 0; i < node.jjtGetNumChildren(); i++) {
+                checkBoolean(node.jjtGetChild(i));
+            }
+        }
+        if (node instanceof BooleanNode) {
+            nonNull.add(node);
+            return Boolean.class;
+        }
+        if (node instanceof AstCompositeExpression || node instanceof AstConcat) {
+            nonNull.add(node);
+            return String.class;
+        }
+        if (node instanceof AstListData) {
+            nonNull.add(node);
+            return List.class;
+        }
+        if (node instanceof AstMapData) {
+            nonNull.add(node);
+            return node.jjtGetNumChildren() > 0 && node.jjtGetChild(0).jjtGetNumChildren() > 1 ? Map.class : Set.class;
+        }
+        if (node instanceof AstAssign || node instanceof AstSemiColon) {
+            Node last = node.jjtGetChild(node.jjtGetNumChildren() - 1);
+            setNonNull(node, isNonNull(last));
+            return getType(last);
+        }
+
+        return Object.class;
+    }
+
+    private void visitChildren(Node node) {
+        for (int i = 0; i < node.jjtGetNumChildren(); i++) {
+            visit(node.jjtGetChild(i));
+        }
+    }
+
+    private Type inferIdentifier(AstIdentifier node) {
+        String name = node.getImage();
+        Type type = lambdaParameters.containsKey(name) ? null : declaredTypes.get(name);
+        if (type == null) {
+            return Object.class;
+        }
+
+        setNonNull(node, type instanceof Class && ((Class<?>) type).isPrimitive());
+        return type;
+    }
+
+    /*
+     * The parameters of a Lambda expression hide the identifiers of the same name in its body.
+     */
+    private void visitLambda(Node node) {
+        Node parameters = node.jjtGetChild(0);
+        for (int i = 0; i < parameters.jjtGetNumChildren(); i++) {
+            lambdaParameters.merge(parameters.jjtGetChild(i).getImage(), 1, Integer::sum);
+        }
+
+        visit(node.jjtGetChild(1));
+
+        for (int i = 0; i < parameters.jjtGetNumChildren(); i++) {
+            lambdaParameters.computeIfPresent(parameters.jjtGetChild(i).getImage(), (name, count) -> count == 1 ? null : count - 1);
+        }
+
+        // The arguments the Lambda expression is invoked with
+        for (int i = 2; i < node.jjtGetNumChildren(); i++) {
+            visit(node.jjtGetChild(i));
+        }
+    }
+
+    private Type inferValue(Node node) {
+        Type type = visit(node.jjtGetChild(0));
+        for (int i = 1; i < node.jjtGetNumChildren(); i++) {
+            Node suffix = node.jjtGetChild(i);
+            visitChildren(suffix);
+            type = type == Object.class ? Object.class : inferProperty(type, suffix);
+            types.put(suffix, type);
+        }
+
+        return type;
+    }
+
+    /*
+     * The type of a property, or of the value returned by a method, of a base of a given type.
+     */
+    private Type inferProperty(Type baseType, Node suffix) {
+        Class<?> baseClass = getRawClass(baseType);
+        Node method = suffix instanceof AstDotSuffix ? (suffix.jjtGetNumChildren() > 0 ? suffix.jjtGetChild(0) : null)
+                : (suffix.jjtGetNumChildren() > 1 ? suffix.jjtGetChild(1) : null);
+        Object property = suffix instanceof AstDotSuffix ? suffix.getImage()
+                : MethodHandleCompiler.isConstant(suffix.jjtGetChild(0)) ? suffix.jjtGetChild(0).getValue(null) : null;
+
+        if (method != null) {
+            return property instanceof String ? inferMethod(baseType, baseClass, (String) property, method.jjtGetNumChildren()) : Object.class;
+        }
+        if (Map.class.isAssignableFrom(baseClass)) {
+            return getTypeArgument(baseType, Map.class, 1);
+        }
+        if (List.class.isAssignableFrom(baseClass)) {
+            return getTypeArgument(baseType, List.class, 0);
+        }
+        if (baseClass.isArray()) {
+            return baseType instanceof GenericArrayType ? ((GenericArrayType) baseType).getGenericComponentType() : baseClass.getComponentType();
+        }
+        if (!(property instanceof String) || baseClass.isInterface() || baseClass.isPrimitive() || !isBean(baseClass)) {
+            return Object.class;
+        }
+
+        // The components of a record are resolved by their accessors, which are not bean getters
+        if (baseClass.isRecord()) {
+            for (RecordComponent component : baseClass.getRecordComponents()) {
+                if (component.getName().equals(property)) {
+                    return resolve(baseType, component.getGenericType());
+                }
+            }
+        }
+
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(baseClass).getPropertyDescriptors()) {
+                if (descriptor.getName().equals(property)) {
+                    Method readMethod = descriptor.getReadMethod();
+                    return readMethod == null ? Object.class : resolve(baseType, readMethod.getGenericReturnType());
+                }
+            }
+        } catch (IntrospectionException e) {
+            return Object.class;
+        }
+
+        errors.add(MessageFactory.get("error.property.notfound", baseClass.getName(), property));
+        return Object.class;
+    }
+
+    /*
+     * The return type of the public methods of a name and a number of parameters, if they all have the same.
+     */
+    private Type inferMethod(Type baseType, Class<?> baseClass, String name, int paramCount) {
+        Type returnType = null;
+        for (Method method : baseClass.getMethods()) {
+            if (method.getName().equals(name) && (method.getParameterCount() == paramCount || method.isVarArgs())) {
+                Type type = resolve(baseType, method.getGenericReturnType());
+                if (returnType != null && !returnType.equals(type)) {
+                    return Object.class;
+                }
+                returnType = type;
+            }
+        }
+
+        return returnType == null || returnType == void.class ? Object.class : returnType;
+    }
+
+    /*
+     * The classes whose properties are resolved by the BeanELResolver, rather than by the resolvers of the other types
+     * of objects.
+     */
+    private static boolean isBean(Class<?> type) {
+        return type != Object.class && !Number.class.isAssignableFrom(type) && type != String.class && type != Boolean.class
+                && !java.util.ResourceBundle.class.isAssignableFrom(type);
+    }
+
+    private Type inferArithmetic(Node node) {
+        Node child0 = node.jjtGetChild(0);
+        Node child1 = node.jjtGetChild(1);
+        int kind0 = getNumberKind(child0, visit(child0));
+        int kind1 = getNumberKind(child1, visit(child1));
+        nonNull.add(node);
+
+        // Unknown operands, and Strings, which are coerced to a Long or a Double depending on their value
+        if (kind0 == UNKNOWN || kind1 == UNKNOWN) {
+            return Number.class;
+        }
+
+        Class<?> type;
+        if (node instanceof AstDiv) {
+            type = kind0 == BIG_DECIMAL || kind1 == BIG_DECIMAL || kind0 == BIG_INTEGER || kind1 == BIG_INTEGER ? BigDecimal.class : Double.class;
+        } else if (kind0 == BIG_DECIMAL || kind1 == BIG_DECIMAL) {
+            type = BigDecimal.class;
+        } else if (kind0 == DOUBLE || kind1 == DOUBLE) {
+            type = Double.class;
+        } else if (kind0 == BIG_INTEGER || kind1 == BIG_INTEGER) {
+            type = BigInteger.class;
+        } else {
+            type = Long.class;
+        }
+
+        // The operation on two null operands is a Long zero
+        return type == Long.class || !isNullable(child0) || !isNullable(child1) ? type : Number.class;
+    }
+
+    private Type inferNegative(Node node) {
+        Node child = node.jjtGetChild(0);
+        int kind = getNumberKind(child, visit(child));
+        nonNull.add(node);
+
+        // The negation keeps the type of a number, and of null is a Long zero
+        Class<?> type = box(getRawType(child));
+        if (kind == UNKNOWN || !isNonNull(child) && type != Long.class) {
+            return Number.class;
+        }
+
+        return type == Character.class ? Long.class : type;
+    }
+
+    private Type inferChoice(Node node) {
+        visit(node.jjtGetChild(0));
+        checkBoolean(node.jjtGetChild(0));
+        Node child1 = node.jjtGetChild(1);
+        Node child2 = node.jjtGetChild(2);
+        Type type1 = visit(child1);
+        Type type2 = visit(child2);
+        setNonNull(node, isNonNull(child1) && isNonNull(child2));
+
+        if (child1 instanceof AstNull) {
+            return type2;
+        }
+        if (child2 instanceof AstNull || type1.equals(type2)) {
+            return type1;
+        }
+
+        // The closest common superclass
+        Class<?> class1 = box(getRawClass(type1));
+        Class<?> class2 = box(getRawClass(type2));
+        Class<?> type = class1;
+        while (type != null && !type.isAssignableFrom(class2)) {
+            type = type.getSuperclass();
+        }
+
+        return type == null ? Object.class : type;
+    }
+
+    // The kinds of number of an operand, as ELArithmetic chooses its delegate
+    private static final int LONG = 0;
+    private static final int DOUBLE = 1;
+    private static final int BIG_INTEGER = 2;
+    private static final int BIG_DECIMAL = 3;
+    private static final int UNKNOWN = 4;
+
+    /*
+     * The kind of number an operand is coerced to, reporting the operands that cannot be coerced to a number.
+     */
+    private int getNumberKind(Node node, Type type) {
+        if (node instanceof AstNull) {
+            return LONG;
+        }
+
+        Class<?> operandClass = box(getRawClass(type));
+        if (operandClass == Long.class || operandClass == Integer.class || operandClass == Short.class || operandClass == Byte.class
+                || operandClass == Character.class) {
+            return LONG;
+        }
+        if (operandClass == Double.class || operandClass == Float.class) {
+            return DOUBLE;
+        }
+        if (operandClass == BigInteger.class) {
+            return BIG_INTEGER;
+        }
+        if (operandClass == BigDecimal.class) {
+            return BIG_DECIMAL;
+        }
+
+        if (!operandClass.isInterface() && !operandClass.isAssignableFrom(Number.class) && !Number.class.isAssignableFrom(operandClass)
+                && operandClass != String.class) {
+            errors.add(MessageFactory.get("error.type.number", describe(node), operandClass.getName()));
+        }
+
+        return UNKNOWN;
+    }
+
+    /*
+     * Report an operand that cannot be coerced to a boolean, which is the case of any object but a Boolean or a String.
+     */
+    private void checkBoolean(Node node) {
+        Class<?> operandClass = box(getRawType(node));
+        if (!operandClass.isAssignableFrom(Boolean.class) && !operandClass.isAssignableFrom(String.class)) {
+            errors.add(MessageFactory.get("error.type.boolean", describe(node), operandClass.getName()));
+        }
+    }
+
+    private boolean isNullable(Node node) {
+        return !isNonNull(node);
+    }
+
+    private void setNonNull(Node node, boolean isNonNull) {
+        if (isNonNull) {
+            nonNull.add(node);
+        }
+    }
+
+    /*
+     * A short description of a node for the errors, such as "order.total" for a property.
+     */
+    private static String describe(Node node) {
+        if (node instanceof AstDeferredExpression || node instanceof AstDynamicExpression) {
+            return describe(node.jjtGetChild(0));
+        }
+        if (node instanceof AstIdentifier) {
+            return node.getImage();
+        }
+        if (node instanceof AstValue && node.jjtGetChild(0) instanceof AstIdentifier) {
+            StringBuilder description = new StringBuilder(node.jjtGetChild(0).getImage());
+            for (int i = 1; i < node.jjtGetNumChildren(); i++) {
+                Node suffix = node.jjtGetChild(i);
+                description.append(suffix instanceof AstDotSuffix ? "." + suffix.getImage() : "[]");
+            }
+
+            return description.toString();
+        }
+
+        return node.toString();
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    static Class<?> getRawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return getRawClass(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(getRawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof TypeVariable) {
+            return getRawClass(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        if (type instanceof WildcardType) {
+            return getRawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+
+        return Object.class;
+    }
+
+    /*
+     * Resolve a type declared by a member of a type against the type arguments of that type, so that the property
+     * value of a Holder<String> is a String rather than a T.
+     */
+    private static Type resolve(Type owner, Type type) {
+        if (type instanceof TypeVariable && ((TypeVariable<?>) type).getGenericDeclaration() instanceof Class) {
+            TypeVariable<?> variable = (TypeVariable<?>) type;
+            Class<?> declaringClass = (Class<?>) variable.getGenericDeclaration();
+            TypeVariable<?>[] variables = declaringClass.getTypeParameters();
+            Type[] arguments = getTypeArguments(owner, declaringClass, Collections.emptyMap());
+            for (int i = 0; arguments != null && i < variables.length; i++) {
+                if (variables[i].equals(variable)) {
+                    return arguments[i];
+                }
+            }
+        }
+        if (type instanceof TypeVariable || type instanceof WildcardType) {
+            return getRawClass(type);
+        }
+
+        return type;
+    }
+
+    private static Type getTypeArgument(Type type, Class<?> target, int index) {
+        Type[] arguments = getTypeArguments(type, target, Collections.emptyMap());
+        return arguments == null ? Object.class : resolve(type, arguments[index]);
+    }
+
+    /*
+     * The type arguments of a generic class or interface, as given by a type that extends or implements it, or null if
+     * the type does not. Type variables that are not bound are returned as is.
+     */
+    private static Type[] getTypeArguments(Type type, Class<?> target, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> rawClass = getRawClass(type);
+        if (!target.isAssignableFrom(rawClass)) {
+            return null;
+        }
+
+        Map<TypeVariable<?>, Type> classBindings = new HashMap<>();
+        if (type instanceof ParameterizedType) {
+            TypeVariable<?>[] variables = rawClass.getTypeParameters();
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            for (int i = 0; i < variables.length && i < arguments.length; i++) {
+                Type argument = arguments[i];
+                classBindings.put(variables[i], bindings.getOrDefault(argument, argument));
+            }
+        }
+
+        if (rawClass == target) {
+            TypeVariable<?>[] variables = target.getTypeParameters();
+            Type[] arguments = new Type[variables.length];
+            for (int i = 0; i < variables.length; i++) {
+                arguments[i] = classBindings.getOrDefault(variables[i], variables[i]);
+            }
+
+            return arguments;
+        }
+
+        List<Type> supertypes = new ArrayList<>();
+        if (rawClass.getGenericSuperclass() != null) {
+            supertypes.add(rawClass.getGenericSuperclass());
+        }
+        Collections.addAll(supertypes, rawClass.getGenericInterfaces());
+        for (Type supertype : supertypes) {
+            Type[] arguments = getTypeArguments(supertype, target, classBindings);
+            if (arguments != null) {
+                return arguments;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeInference[" + types.size() + " nodes, " + errors.size() + " errors]";
+    }
+}
@@ -36,23 +36,24 @@ public class StreamELResolver extends ELResolver {
             throw new NullPointerException();
         }
 
-        if (base instanceof Collection) {
-            @SuppressWarnings("unchecked")
-            Collection<Object> collection = (Collection<Object>) base;
-            if ("stream".equals(method) && params.length == 0) {
-                context.setPropertyResolved(true);
-                return new Stream(collection.iterator());
-            }
+        // Most bases are neither, so reject them before looking at the method
+        boolean isCollection = base instanceof Collection;
+        if (!isCollection && (base == null || !base.getClass().isArray())) {
+            return null;
         }
 
-        if (base.getClass().isArray()) {
-            if ("stream".equals(method) && params.length == 0) {
-                context.setPropertyResolved(true);
-                return new Stream(arrayIterator(base));
-            }
+        if (!"stream".equals(method) || (params != null && params.length != 0)) {
+            return null;
         }
 
-        return null;
+        context.setPropertyResolved(true);
+        if (isCollection) {
+            @SuppressWarnings("unchecked")
+            Collection<Object> collection = (Collection<Object>) base;
+            return new Stream(collection.iterator());
+        }
+
+        return new Stream(arrayIterator(base));
     }
 
     private static Iterator<Object> arrayIterator(final Object base) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.expressly.util;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.el.ELContext;
+
+/**
+ * Invokes a <code>Method</code> through a <code>MethodHandle</code> created once for it.
+ *
+ * <p>
+ * The method handle takes the target and the arguments as an array, the same way as {@link Method#invoke}, and has the
+ * same exception contract: an exception thrown by the method is wrapped in an <code>InvocationTargetException</code>.
+ * Calls the method handle cannot make with the same outcome as reflection, such as arguments of the wrong type or a
+ * method that is not accessible to the public lookup, are made through reflection.
+ *
+ * <p>
+ * Invokers are cached per declaring class, so they do not keep the class loader of the method alive.
+ *
+ * <p>
+ * A method handle is used rather than a class generated with <code>LambdaMetafactory</code> for each method: it needs
+ * no generated class, and it is created for any public method, whatever its parameter types.
+ */
+public final class MethodInvoker {
+
+    private static final ClassValue<Map<Method, MethodInvoker>> INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+
+    // The parameter types, with primitive types boxed
+    private final Class<?>[] argumentTypes;
+
+    // The component type of the varargs parameter, or null if the method does not take varargs
+    private final Class<?> varArgsType;
+
+    // The spread method handle, of type (Object, Object[])Object, or null if reflection must be used
+    private final MethodHandle handle;
+
+    private MethodInvoker(Method method) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.argumentTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            argumentTypes[i] = ReflectionUtil.getBoxingTypeIfPrimitive(parameterTypes[i]);
+        }
+        this.varArgsType = method.isVarArgs() ? parameterTypes[parameterTypes.length - 1].getComponentType() : null;
+        this.handle = toMethodHandle(method);
+    }
+
+    /**
+     * @param method the method to invoke
+     * @return the invoker for the method
+     */
+    public static MethodInvoker of(Method method) {
+        return INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, MethodInvoker::new);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * Builds the arguments of the method from the parameters of a method call, coercing them to the parameter types and
+     * collecting the trailing parameters into an array for a varargs method, as <code>jakarta.el.ELUtil</code> would
+     * with <code>buildParameters</code>. Each parameter is coerced with the context, so that its resolvers can intercept
+     * the coercion, even if it already is of the parameter type.
+     *
+     * @param context the context used to coerce the parameters
+     * @param params the parameters of the method call
+     * @return the arguments to invoke the method with
+     */
+    public Object[] buildArguments(ELContext context, Object[] params) {
+        if (parameterTypes.length == 0) {
+            return null;
+        }
+
+        Object[] arguments = new Object[parameterTypes.length];
+        int paramCount = params == null ? 0 : params.length;
+        int fixedCount = varArgsType == null ? parameterTypes.length : parameterTypes.length - 1;
+        for (int i = 0; i < fixedCount && i < paramCount; i++) {
+            arguments[i] = context.convertToType(params[i], parameterTypes[i]);
+        }
+
+        if (varArgsType != null) {
+            // An array of the varargs type is passed as is
+            if (paramCount == parameterTypes.length && params[fixedCount] != null
+                    && params[fixedCount].getClass() == parameterTypes[fixedCount]) {
+                arguments[fixedCount] = params[fixedCount];
+            } else {
+                arguments[fixedCount] = buildVarArgs(context, params, fixedCount, paramCount);
+            }
+        }
+
+        return arguments;
+    }
+
+    private Object buildVarArgs(ELContext context, Object[] params, int start, int end) {
+        int length = Math.max(end - start, 0);
+        if (!varArgsType.isPrimitive()) {
+            Object[] varArgs = (Object[]) Array.newInstance(varArgsType, length);
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], varArgsType);
+            }
+
+            return varArgs;
+        }
+
+        // Each element is coerced to its primitive type, and stored without going through Array.set
+        if (varArgsType == int.class) {
+            int[] varArgs = new int[length];
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], int.class);
+            }
+            return varArgs;
+        }
+        if (varArgsType == long.class) {
+            long[] varArgs = new long[length];
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], long.class);
+            }
+            return varArgs;
+        }
+        if (varArgsType == double.class) {
+            double[] varArgs = new double[length];
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], double.class);
+            }
+            return varArgs;
+        }
+        if (varArgsType == boolean.class) {
+            boolean[] varArgs = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], boolean.class);
+            }
+            return varArgs;
+        }
+        if (varArgsType == char.class) {
+            char[] varArgs = new char[length];
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], char.class);
+            }
+            return varArgs;
+        }
+        if (varArgsType == byte.class) {
+            byte[] varArgs = new byte[length];
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], byte.class);
+            }
+            return varArgs;
+        }
+        if (varArgsType == short.class) {
+            short[] varArgs = new short[length];
+            for (int i = 0; i < length; i++) {
+                varArgs[i] = context.convertToType(params[start + i], short.class);
+            }
+            return varArgs;
+        }
+
+        float[] varArgs = new float[length];
+        for (int i = 0; i < length; i++) {
+            varArgs[i] = context.convertToType(params[start + i], float.class);
+        }
+        return varArgs;
+    }
+
+    /**
+     * Invokes the method.
+     *
+     * @param target the object on which the method is invoked, ignored for static methods
+     * @param args the arguments of the method
+     * @return the value returned by the method, <code>null</code> for a <code>void</code> method
+     * @throws IllegalAccessException if the method is not accessible
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    public Object invoke(Object target, Object... args) throws IllegalAccessException, InvocationTargetException {
+        if (handle == null || !canInvoke(target, args)) {
+            return method.invoke(target, args);
+        }
+
+        try {
+            return handle.invokeExact(target, args);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private boolean canInvoke(Object target, Object[] args) {
+        if (!Modifier.isStatic(method.getModifiers()) && !method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+
+        int argCount = args == null ? 0 : args.length;
+        if (argCount != parameterTypes.length) {
+            return false;
+        }
+
+        for (int i = 0; i < argCount; i++) {
+            Object arg = args[i];
+            if (arg == null ? parameterTypes[i].isPrimitive() : !argumentTypes[i].isInstance(arg)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static MethodHandle toMethodHandle(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+
+        if (method.isVarArgs()) {
+            handle = handle.asFixedArity();
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        return handle.asSpreader(Object[].class, method.getParameterCount())
+                     .asType(methodType(Object.class, Object.class, Object[].class));
+    }
+}
@@ -177,13 +177,15 @@ public class ReflectionUtil {
     }
 
     /*
-     * This method duplicates code in jakarta.el.ELUtil. When making changes keep the code in sync.
+     * Invokes a method with the given parameters, coerced and collected into varargs by the MethodInvoker of the method,
+     * as jakarta.el.ELUtil would with buildParameters.
      */
     public static Object invokeMethod(ELContext context, Method method, Object base, Object[] params) {
-        Object[] parameters = buildParameters(context, method.getParameterTypes(), method.isVarArgs(), params);
+        MethodInvoker invoker = MethodInvoker.of(method);
+        Object[] parameters = invoker.buildArguments(context, params);
 
         try {
-            return method.invoke(base, parameters);
+            return invoker.invoke(base, parameters);
         } catch (IllegalAccessException | IllegalArgumentException iae) {
             throw new ELException(iae);
         } catch (InvocationTargetException ite) {
@@ -447,7 +449,7 @@ public class ReflectionUtil {
     /*
      * This method duplicates code in jakarta.el.ELUtil. When making changes keep the code in sync.
      */
-    private static Class<?> getBoxingTypeIfPrimitive(Class<?> clazz) {
+    static Class<?> getBoxingTypeIfPrimitive(Class<?> clazz) {
         if (!clazz.isPrimitive()) {
             return clazz;
         }
@@ -578,7 +580,7 @@ public class ReflectionUtil {
      * therefore inaccessible. To correct this, a version of the same method must be found in a superclass or interface.
      *
      */
-    static Method getMethod(Class<?> type, Method method) {
+    public static Method getMethod(Class<?> type, Method method) {
         if (method == null || isPublic(type.getModifiers())) {
             return method;
         }
@@ -638,43 +640,6 @@ public class ReflectionUtil {
         return null;
     }
 
-    /*
-     * This method duplicates code in jakarta.el.ELUtil. When making changes keep the code in sync.
-     */
-    public static Object[] buildParameters(ELContext context, Class<?>[] parameterTypes, boolean isVarArgs, Object[] params) {
-        Object[] parameters = null;
-        if (parameterTypes.length > 0) {
-            parameters = new Object[parameterTypes.length];
-            int paramCount = params == null ? 0 : params.length;
-            if (isVarArgs) {
-                int varArgIndex = parameterTypes.length - 1;
-
-                // First argCount-1 parameters are standard
-                for (int i = 0; (i < varArgIndex && i < paramCount); i++) {
-                    parameters[i] = context.convertToType(params[i], parameterTypes[i]);
-                }
-
-                // Last parameter is the varargs
-                if (parameterTypes.length == paramCount && parameterTypes[varArgIndex] == params[varArgIndex].getClass()) {
-                    parameters[varArgIndex] = params[varArgIndex];
-                } else {
-                    Class<?> varArgClass = parameterTypes[varArgIndex].getComponentType();
-                    final Object varargs = Array.newInstance(varArgClass, (paramCount - varArgIndex));
-                    for (int i = (varArgIndex); i < paramCount; i++) {
-                        Array.set(varargs, i - varArgIndex, context.convertToType(params[i], varArgClass));
-                    }
-                    parameters[varArgIndex] = varargs;
-                }
-            } else {
-                for (int i = 0; i < parameterTypes.length && i < paramCount; i++) {
-                    parameters[i] = context.convertToType(params[i], parameterTypes[i]);
-                }
-            }
-        }
-
-        return parameters;
-    }
-
     /*
      * This method duplicates code in jakarta.el.ELUtil. When making changes keep the code in sync.
      */
@@ -15,6 +15,7 @@
  */
 package jakarta.el;
 
+import org.glassfish.expressly.beans.BeanELResolverImpl;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -79,4 +80,17 @@ public class DefaultMethodTest {
         Object result = resolver.getValue(context, bean, "valueC");
         Assert.assertEquals(bean.getValueC(), result);
     }
+
+    @Test
+    public void testGetDefaultValueWithMethodHandles() {
+
+        MyBean bean = new MyBean();
+
+        BeanELResolver resolver = new BeanELResolverImpl();
+        ELContext context = new StandardELContext(ELManager.getExpressionFactory());
+
+        Assert.assertEquals(bean.getValueA(), resolver.getValue(context, bean, "valueA"));
+        Assert.assertEquals(bean.getValueB(), resolver.getValue(context, bean, "valueB"));
+        Assert.assertEquals(bean.getValueC(), resolver.getValue(context, bean, "valueC"));
+    }
 }
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.el.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.glassfish.expressly.ValueExpressionImpl;
+import org.glassfish.expressly.lang.EvaluationContext;
+import org.glassfish.expressly.lang.ExpressionBuilder;
+import org.glassfish.expressly.lang.ParsedExpression;
+import org.glassfish.expressly.parser.Evaluator;
+import org.glassfish.expressly.parser.ExpressionCompiler;
+import org.glassfish.expressly.parser.MethodHandleCompiler;
+import org.glassfish.expressly.parser.Node;
+import org.glassfish.expressly.parser.PrecompiledExpressions;
+import org.glassfish.expressly.parser.SimpleNode;
+import org.glassfish.expressly.parser.TieredEvaluator;
+import org.glassfish.expressly.parser.TieredEvaluator.Tier;
+import org.glassfish.expressly.parser.TypeInference;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELManager;
+import jakarta.el.ELProcessor;
+import jakarta.el.ExpressionFactory;
+
+/**
+ * Compares the values of compiled expressions, into classes or into method handles, with those of the tree interpreter.
+ */
+public class CompilerTest {
+
+    static ELProcessor elp;
+    static ELContext context;
+    static ExpressionFactory factory;
+
+    static final String[] EXPRESSIONS = {
+        "${1 + 2 * 3 - 4 / 2 % 3}",
+        "${7 % 3 + -5}",
+        "${1.5 * 2 + 0.25}",
+        "${1e308 * 10}",
+        "${big + 1}",
+        "${'2' * 3 + '1.5'}",
+        "${null + null}",
+        "${n * 2 > 10 && !(n < 0) || false}",
+        "${n >= 5 ? n * 2 : 'small'}",
+        "${n == 5.0 and n != 6 and n le 5 and n ge 5}",
+        "${null > 1 or null <= null}",
+        "${empty list ? 0 : list.size() + 1}",
+        "${empty '' and not empty map}",
+        "${-n + -(n * 2) + -1.5}",
+        "${(x -> x * n)(3) + 1}",
+        "${map.a + map.b}",
+        "text ${n + 1} more ${null} and ${ 'end' }",
+        "${n > 1 ? 'yes' : 'no'}",
+        "${1 / 0}",
+        "${1 % 0}",
+        "${'x' * 2}",
+        "${true ? 1 : 2.5}",
+        "${n > 3 ? (n < 10 ? 'mid' : 'high') : 'low'}",
+        "${null < 1 or 2 >= null or 'a' <= 'b' and 3 > 2.5}",
+        "${empty null || (n != 5 && 1 / 0 > 0)}",
+    };
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        System.setProperty("jakarta.el.ExpressionFactory", "org.glassfish.expressly.ExpressionFactoryImpl");
+        elp = new ELProcessor();
+        context = elp.getELManager().getELContext();
+        factory = ELManager.getExpressionFactory();
+
+        elp.defineBean("n", Integer.valueOf(5));
+        elp.defineBean("big", new BigDecimal("12345678901234567890.5"));
+        elp.defineBean("list", Arrays.asList(1, 2, 3));
+        Map<String, Object> map = new HashMap<>();
+        map.put("a", 1L);
+        map.put("b", 2.5);
+        elp.defineBean("map", map);
+    }
+
+    /*
+     * Expressions created for the same string share their evaluator, so each expression is evaluated by the interpreter
+     * first, and then compiled.
+     */
+    @Test
+    public void testCompiledValues() {
+        assertTrue(ExpressionCompiler.isAvailable());
+        Class<?>[] expectedTypes = { Object.class, String.class, Long.class, double.class, Boolean.class };
+        for (String expression : EXPRESSIONS) {
+            ValueExpressionImpl[] expressions = new ValueExpressionImpl[expectedTypes.length];
+            Object[] interpreted = new Object[expectedTypes.length];
+            for (int i = 0; i < expectedTypes.length; i++) {
+                expressions[i] = (ValueExpressionImpl) factory.createValueExpression(context, expression, expectedTypes[i]);
+                interpreted[i] = evaluate(expressions[i]);
+            }
+            Object[] typed = { getBoolean(expressions[0]), getLong(expressions[0]), getDouble(expressions[0]) };
+
+            expressions[0].compile();
+            for (int i = 0; i < expectedTypes.length; i++) {
+                assertEquals(expression + " as " + expectedTypes[i], interpreted[i], evaluate(expressions[i]));
+            }
+            assertEquals(expression, typed[0], getBoolean(expressions[0]));
+            assertEquals(expression, typed[1], getLong(expressions[0]));
+            assertEquals(expression, typed[2], getDouble(expressions[0]));
+        }
+    }
+
+    @Test
+    public void testHandleValues() {
+        EvaluationContext ctx = EvaluationContext.bind(context, null, null);
+        for (String expression : EXPRESSIONS) {
+            Node node = ExpressionBuilder.createNode(expression);
+            Evaluator compiled = MethodHandleCompiler.compile(node);
+            assertEquals(expression, evaluate(() -> node.getValue(ctx)), evaluate(() -> compiled.getValue(ctx)));
+            assertEquals(expression, evaluate(() -> node.getBoolean(ctx)), evaluate(() -> compiled.getBoolean(ctx)));
+            assertEquals(expression, evaluate(() -> node.getLong(ctx)), evaluate(() -> compiled.getLong(ctx)));
+            assertEquals(expression, evaluate(() -> node.getDouble(ctx)), evaluate(() -> compiled.getDouble(ctx)));
+        }
+    }
+
+    @Test
+    public void testSharedEvaluationContext() {
+        EvaluationContext ctx = EvaluationContext.bind(context, null, null);
+        assertSame(ctx, EvaluationContext.bind(context, null, null));
+        assertSame(ctx, EvaluationContext.bind(ctx, null, null));
+
+        // Not visible in the context map under the class of the implementation
+        assertNull(context.getContext(EvaluationContext.class));
+    }
+
+    @Test
+    public void testTiers() {
+        Map<String, Object> values = new HashMap<>();
+        elp.defineBean("values", values);
+        values.put("a", 2L);
+        values.put("b", 3L);
+
+        Node node = ExpressionBuilder.createNode("${values.a * values.b + 1}");
+        TieredEvaluator evaluator = new TieredEvaluator(node, 3, Runnable::run);
+        EvaluationContext ctx = EvaluationContext.bind(context, null, null);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Long.valueOf(7), evaluator.getValue(ctx));
+            assertEquals(Tier.INTERPRETER, evaluator.getTier());
+        }
+
+        // Compiled into method handles on the third evaluation, and into classes three evaluations later, speculating
+        // that the operands of the multiplication are Long values
+        assertEquals(Long.valueOf(7), evaluator.getValue(ctx));
+        assertEquals(Tier.HANDLES, evaluator.getTier());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Long.valueOf(7), evaluator.getValue(ctx));
+        }
+        assertEquals(Tier.CLASSES, evaluator.getTier());
+        assertEquals(Long.valueOf(7), evaluator.getValue(ctx));
+
+        // A failed speculation goes back to the method handles, without changing the value
+        values.put("b", 0.5);
+        assertEquals(Double.valueOf(2.0), evaluator.getValue(ctx));
+        assertEquals(Tier.HANDLES, evaluator.getTier());
+
+        // And the expression is compiled again once it is hot, without speculations
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Double.valueOf(2.0), evaluator.getValue(ctx));
+        }
+        assertEquals(Tier.CLASSES, evaluator.getTier());
+        values.put("b", 3L);
+        assertEquals(Long.valueOf(7), evaluator.getValue(ctx));
+        assertEquals(Tier.CLASSES, evaluator.getTier());
+    }
+
+    @Test
+    public void testCompile() {
+        assertTrue(((ValueExpressionImpl) factory.createValueExpression(context, "${n + 1}", Object.class)).compile());
+        assertTrue(((ValueExpressionImpl) factory.createValueExpression(context, "a${n}b", Object.class)).compile());
+        assertFalse(((ValueExpressionImpl) factory.createValueExpression(context, "${n}", Object.class)).compile());
+        assertFalse(((ValueExpressionImpl) factory.createValueExpression(context, "${map.a}", Object.class)).compile());
+    }
+
+    @Test
+    public void testPrecompiledExpressions() throws IOException {
+        File output = Files.createTempDirectory("expressly").toFile();
+        String manifest = "// Orders\n@customer org.glassfish.el.test.Customer\n${customer.name}\n#{fn:trim(' a ') += [1, 2].size()}\n${x -> x * 2}\n${(y -> y + 1)(41)}\n${1 + 2}\n${3 + 4}\n${5 + 6}\n";
+        assertTrue(PrecompiledExpressions.precompile(new StringReader(manifest), output).isEmpty());
+        assertEquals(Arrays.asList("${customer.nickname}: Property 'nickname' not found on type: org.glassfish.el.test.Customer"),
+                PrecompiledExpressions.precompile(new StringReader("@customer org.glassfish.el.test.Customer\n${customer.nickname}"), output));
+
+        // Whether an expression is precompiled depends on the class loader, whichever created the cached expression
+        ParsedExpression tiered = ExpressionBuilder.createParsedExpression("${3 + 4}");
+        assertTrue(tiered.getEvaluator() instanceof TieredEvaluator);
+        ParsedExpression interpreted;
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classes = new URLClassLoader(new URL[] { output.toURI().toURL() }, loader)) {
+            Thread.currentThread().setContextClassLoader(classes);
+            assertSame(tiered.getNode(), tiered.getEvaluator());
+            interpreted = ExpressionBuilder.createParsedExpression("${5 + 6}");
+            assertSame(interpreted.getNode(), interpreted.getEvaluator());
+
+            for (String expression : new String[] { "${customer.name}", "#{fn:trim(' a ') += [1, 2].size()}", "${x -> x * 2}" }) {
+                assertEquals(ExpressionBuilder.createNode(expression), PrecompiledExpressions.lookup(expression));
+            }
+            assertEquals(null, PrecompiledExpressions.lookup("${customer.orders}"));
+
+            // The nodes read from the index are closed as the parser closes them, without going through the parse cache
+            EvaluationContext ctx = EvaluationContext.bind(context, null, null);
+            assertEquals(42L, PrecompiledExpressions.lookup("${(y -> y + 1)(41)}").getValue(ctx));
+            Node sum = PrecompiledExpressions.lookup("${1 + 2}");
+            assertTrue(((SimpleNode) sum.jjtGetChild(0)).isLongValued());
+            assertEquals(3L, sum.getLong(ctx));
+        } finally {
+            Thread.currentThread().setContextClassLoader(loader);
+        }
+        assertTrue(interpreted.getEvaluator() instanceof TieredEvaluator);
+    }
+
+    @Test
+    public void testTypeInference() {
+        Map<String, Type> declaredTypes = new HashMap<>();
+        declaredTypes.put("customer", Customer.class);
+        declaredTypes.put("count", int.class);
+        declaredTypes.put("flag", Boolean.class);
+        declaredTypes.put("point", ResolverTest.Point.class);
+
+        Node node = ExpressionBuilder.createNode("${count * 2 + 1.5}");
+        TypeInference types = TypeInference.infer(node, declaredTypes);
+        assertEquals(Double.class, types.getRawType(node));
+        assertTrue(types.getErrors().isEmpty());
+
+        node = ExpressionBuilder.createNode("${customer.orders[0].total}");
+        types = TypeInference.infer(node, declaredTypes);
+        assertEquals(double.class, types.getRawType(node));
+
+        node = ExpressionBuilder.createNode("${customer.name}");
+        types = TypeInference.infer(node, declaredTypes);
+        assertEquals(String.class, types.getRawType(node));
+
+        // The components of a record are properties
+        node = ExpressionBuilder.createNode("${point.x + 1}");
+        types = TypeInference.infer(node, declaredTypes);
+        assertEquals(int.class, types.getRawType(node.jjtGetChild(0)));
+        assertTrue(types.getErrors().isEmpty());
+
+        // The parameters of a Lambda expression hide the declared identifiers
+        for (String expression : new String[] { "${customer.orders.stream().count()}", "${(customer -> customer.nickname)(1)}",
+                "${flag ? customer.orders.size() : null}" }) {
+            assertTrue(expression, inferTypes(expression, declaredTypes).isEmpty());
+        }
+        for (String expression : new String[] { "${flag + 1}", "${customer.nickname}", "${not customer}", "${-customer.orders[0]}",
+                "${point.z}" }) {
+            assertEquals(expression, 1, inferTypes(expression, declaredTypes).size());
+        }
+    }
+
+    private static List<String> inferTypes(String expression, Map<String, Type> declaredTypes) {
+        return ((ValueExpressionImpl) factory.createValueExpression(context, expression, Object.class)).inferTypes(declaredTypes).getErrors();
+    }
+
+    /*
+     * The value, or the class of the exception thrown by the evaluation.
+     */
+    private static Object evaluate(Supplier<Object> evaluation) {
+        try {
+            return evaluation.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static Object evaluate(ValueExpressionImpl expression) {
+        try {
+            return expression.getValue(context);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static Object getBoolean(ValueExpressionImpl expression) {
+        try {
+            return expression.getBoolean(context);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static Object getLong(ValueExpressionImpl expression) {
+        try {
+            return expression.getLong(context);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static Object getDouble(ValueExpressionImpl expression) {
+        try {
+            return expression.getDouble(context);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+}
@@ -21,6 +21,8 @@ import jakarta.el.ELManager;
 import jakarta.el.ELContext;
 import jakarta.el.ELProcessor;
 import jakarta.el.EvaluationListener;
+import jakarta.el.StandardELContext;
+import jakarta.el.ValueExpression;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -108,4 +110,47 @@ public class EvalListenerTest {
             assertEquals(expected[i], msgs.get(i));
         }
     }
+
+    @Test
+    public void testListenerAddedLater() {
+        ELProcessor elp = new ELProcessor();
+        ELManager elm = elp.getELManager();
+        final ArrayList<String> msgs = new ArrayList<>();
+        elp.eval("1 + 2");
+        elm.addEvaluationListener(new EvaluationListener() {
+            @Override
+            public void beforeEvaluation(ELContext ctxt, String expr) {
+                msgs.add("Before: " + expr);
+            }
+            @Override
+            public void afterEvaluation(ELContext ctxt, String expr) {
+                msgs.add("After: " + expr);
+            }
+        });
+        elp.eval("1 + 2");
+        assertEquals(2, msgs.size());
+        assertEquals("Before: ${1 + 2}", msgs.get(0));
+        assertEquals("After: ${1 + 2}", msgs.get(1));
+    }
+
+    @Test
+    public void testLiteralTextListener() {
+        StandardELContext context = new StandardELContext(ELManager.getExpressionFactory());
+        final ArrayList<String> msgs = new ArrayList<>();
+        context.addEvaluationListener(new EvaluationListener() {
+            @Override
+            public void beforeEvaluation(ELContext ctxt, String expr) {
+                msgs.add("Before: " + expr);
+            }
+            @Override
+            public void afterEvaluation(ELContext ctxt, String expr) {
+                msgs.add("After: " + expr);
+            }
+        });
+        ValueExpression expr = ELManager.getExpressionFactory().createValueExpression(context, "hello", String.class);
+        assertEquals("hello", expr.getValue(context));
+        assertEquals(2, msgs.size());
+        assertEquals("Before: hello", msgs.get(0));
+        assertEquals("After: hello", msgs.get(1));
+    }
 }
@@ -23,6 +23,7 @@ import org.junit.BeforeClass;
 import static org.junit.Assert.assertEquals;
 
 import jakarta.el.ELProcessor;
+import jakarta.el.LambdaExpression;
 
 public class LambdaTest {
 
@@ -97,4 +98,30 @@ public class LambdaTest {
         testExpr(elp, "Lambda Lambda 7", "f = ()->((1)); f()", Long.valueOf(1));
         testExpr(elp, "Lambda Lambda 8", "f = ()->(y)->y+1; f()(100)", Long.valueOf(101));
     }
+
+    @Test
+    public void testNestedScopes() {
+        ELProcessor elp = new ELProcessor();
+        testExpr(elp, "Shadowed parameter", "(x->(x->x+1)(x*10))(2)", Long.valueOf(21));
+        testExpr(elp, "Enclosing parameters", "(x->(y->(z->x+y+z)(3))(2))(1)", Long.valueOf(6));
+        testExpr(elp, "Call arguments in enclosing scope", "(x->(y->y*2)(x+1))(4)", Long.valueOf(10));
+        testExpr(elp, "Dynamic lookup", "g = y->x+y; (x->g(1))(10)", Long.valueOf(11));
+        testExpr(elp, "Closure over parameter", "h = x->(y->x*y); h(3)(4) + h(5)(6)", Long.valueOf(42));
+    }
+
+    @Test
+    public void testVariablesAndBeans() {
+        ELProcessor elp = new ELProcessor();
+        elp.setVariable("xx", "10");
+        elp.defineBean("yy", 5);
+        testExpr(elp, "Variables and beans", "xx + yy + xx", Long.valueOf(25));
+        testExpr(elp, "Parameter and variable", "(zz -> zz + xx)(yy)", Long.valueOf(15));
+    }
+
+    @Test
+    public void testInvokeWithoutArguments() {
+        ELProcessor elp = new ELProcessor();
+        LambdaExpression lambda = elp.eval("() -> 5");
+        assertEquals(Long.valueOf(5), lambda.invoke(elp.getELManager().getELContext(), (Object[]) null));
+    }
 }
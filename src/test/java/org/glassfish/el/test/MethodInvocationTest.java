@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.el.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.glassfish.expressly.beans.BeanELResolverImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.ELManager;
+import jakarta.el.ELProcessor;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.MethodExpression;
+import jakarta.el.MethodNotFoundException;
+import jakarta.el.MethodReference;
+import jakarta.el.TypeConverter;
+
+/**
+ * Tests the resolution and invocation of the methods of method expressions and of functions.
+ */
+public class MethodInvocationTest {
+
+    ELProcessor elp;
+    ExpressionFactory factory;
+    ELContext ctxt;
+
+    @Before
+    public void setUp() {
+        System.setProperty("jakarta.el.ExpressionFactory", "org.glassfish.expressly.ExpressionFactoryImpl");
+        elp = new ELProcessor();
+        factory = ELManager.getExpressionFactory();
+        ctxt = elp.getELManager().getELContext();
+    }
+
+    @Test
+    public void testMethodReferenceEvaluatesArgumentsOnce() {
+        Counter counter = new Counter();
+        elp.defineBean("counter", counter);
+        MethodExpression meth = factory.createMethodExpression(
+                ctxt, "#{counter.echo(counter.next())}", Object.class, null);
+
+        MethodReference reference = meth.getMethodReference(ctxt);
+        assertEquals(1, counter.count);
+        assertEquals("echo", reference.getMethodInfo().getName());
+        assertEquals(Integer.valueOf(1), reference.getEvaluatedParameters()[0]);
+    }
+
+    @Test
+    public void testMethodReferenceVarArgs() {
+        elp.defineBean("counter", new Counter());
+        MethodExpression meth = factory.createMethodExpression(
+                ctxt, "#{counter.sum(1, '2')}", Object.class, null);
+
+        Object[] parameters = meth.getMethodReference(ctxt).getEvaluatedParameters();
+        assertEquals(1, parameters.length);
+        assertArrayEquals(new int[] { 1, 2 }, (int[]) parameters[0]);
+    }
+
+    @Test
+    public void testMethodInfoFollowsReceiverClass() {
+        MethodExpression meth = factory.createMethodExpression(
+                ctxt, "#{receiver.next}", Object.class, new Class<?>[0]);
+
+        elp.defineBean("receiver", new Counter());
+        assertEquals(int.class, meth.getMethodInfo(ctxt).getReturnType());
+        assertEquals(int.class, meth.getMethodInfo(ctxt).getReturnType());
+
+        elp.defineBean("receiver", new StringBuilder("a"));
+        boolean caught = false;
+        try {
+            meth.getMethodInfo(ctxt);
+        } catch (MethodNotFoundException ex) {
+            caught = true;
+        }
+        assertTrue(caught);
+
+        elp.defineBean("receiver", new Cursor());
+        assertEquals(String.class, meth.getMethodInfo(ctxt).getReturnType());
+    }
+
+    @Test
+    public void testFunctionArguments() throws NoSuchMethodException {
+        elp.defineFunction("m", "max", Math.class.getMethod("max", int.class, int.class));
+        elp.defineFunction("m", "parse", Integer.class.getMethod("parseInt", String.class));
+        assertEquals(elp.eval("m:max(3, '7') + m:max(2, 1)"), Long.valueOf(9));
+        assertEquals(elp.eval("m:parse(12)"), Integer.valueOf(12));
+
+        boolean caught = false;
+        try {
+            elp.eval("m:parse('x')");
+        } catch (ELException ex) {
+            caught = ex.getCause() instanceof NumberFormatException;
+        }
+        assertTrue(caught);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFunctionArgumentsConvertedByResolvers() throws NoSuchMethodException {
+        elp.defineFunction("m", "parse", Integer.class.getMethod("parseInt", String.class));
+        elp.getELManager().addELResolver(new TypeConverter() {
+            @Override
+            public <T> T convertToType(ELContext context, Object obj, Class<T> type) {
+                if ("twelve".equals(obj) && type == String.class) {
+                    context.setPropertyResolved(true);
+                    return (T) "12";
+                }
+                return null;
+            }
+        });
+
+        // Arguments of the parameter type are still converted by the resolvers
+        assertEquals(Integer.valueOf(12), elp.eval("m:parse('twelve')"));
+        StringBuilder builder = new StringBuilder();
+        elp.defineBean("builder", builder);
+        MethodExpression append = factory.createMethodExpression(ctxt, "#{builder.append}", Object.class, new Class<?>[] { String.class });
+        append.invoke(ctxt, new Object[] { "twelve" });
+        assertEquals("12", builder.toString());
+    }
+
+    @Test
+    public void testPrimitiveVarArgs() {
+        elp.getELManager().addELResolver(new BeanELResolverImpl());
+        elp.defineBean("counter", new Counter());
+        assertEquals(Integer.valueOf(6), elp.eval("counter.sum(1, '2', 3)"));
+        assertEquals(Integer.valueOf(0), elp.eval("counter.sum()"));
+    }
+
+    static public class Counter {
+        int count;
+
+        public int sum(int... values) {
+            int sum = 0;
+            for (int value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        public int next() {
+            return ++count;
+        }
+
+        public int echo(int i) {
+            return i;
+        }
+    }
+
+    static public class Cursor {
+        public String next() {
+            return "next";
+        }
+    }
+}
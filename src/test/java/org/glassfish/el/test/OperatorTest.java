@@ -22,10 +22,15 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import static org.junit.Assert.*;
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
 import jakarta.el.ELProcessor;
 import jakarta.el.ELManager;
+import jakarta.el.ExpressionFactory;
 import jakarta.el.ValueExpression;
 
+import org.glassfish.expressly.ValueExpressionImpl;
+
 /**
  *
  * @author Kin-man
@@ -126,4 +131,57 @@ public class OperatorTest {
         testExpr("coerce '01'", "1 == '01'", Boolean.TRUE);
         testExpr("coerce '01.10'", "'01.10' == 1.10", Boolean.TRUE);
     }
+
+    @Test
+    public void testArithmetic() {
+        testExpr("long", "7 + 3 * 2 - 4 % 3", Long.valueOf(12));
+        testExpr("long negative", "-(2 * 3) + 1", Long.valueOf(-5));
+        testExpr("double", "1 + 0.5 * 3", Double.valueOf(2.5));
+        testExpr("div", "7 / 2", Double.valueOf(3.5));
+        testExpr("mod double", "7.5 % 2", Double.valueOf(1.5));
+        testExpr("choice", "1 < 2 ? 3 : 4 + 1", Long.valueOf(3));
+        testExpr("compare long", "2 * 3 >= 6 && 7 % 4 != 0", Boolean.TRUE);
+        testExpr("not", "!(1 > 2) || false", Boolean.TRUE);
+        testExpr("string operand", "'2' * 3", Long.valueOf(6));
+        try {
+            elp.eval("1 % 0");
+            fail("should have thrown");
+        } catch (ArithmeticException ex) {
+        }
+    }
+
+    @Test
+    public void testTypedGetters() {
+        ELContext context = elp.getELManager().getELContext();
+        ExpressionFactory factory = ELManager.getExpressionFactory();
+        elp.defineBean("five", Integer.valueOf(5));
+
+        ValueExpressionImpl bool = (ValueExpressionImpl) factory.createValueExpression(context, "${five > 4 and not empty 'x'}", Object.class);
+        assertTrue(bool.getBoolean(context));
+        ValueExpressionImpl sum = (ValueExpressionImpl) factory.createValueExpression(context, "${five * 2 + 1}", Object.class);
+        assertEquals(11L, sum.getLong(context));
+        assertEquals(11.0, sum.getDouble(context), 0.0);
+        ValueExpressionImpl ratio = (ValueExpressionImpl) factory.createValueExpression(context, "${1 / 4 + 1}", Object.class);
+        assertEquals(1.25, ratio.getDouble(context), 0.0);
+        assertEquals(1L, ratio.getLong(context));
+        ValueExpressionImpl text = (ValueExpressionImpl) factory.createValueExpression(context, "${'true'}", Object.class);
+        assertTrue(text.getBoolean(context));
+
+        ValueExpressionImpl invalid = (ValueExpressionImpl) factory.createValueExpression(context, "${'x'}", Object.class);
+        boolean caught = false;
+        try {
+            invalid.getLong(context);
+        } catch (ELException ex) {
+            caught = true;
+        }
+        assertTrue(caught);
+
+        // The expected type of the expression is still applied by getValue
+        ValueExpression asString = factory.createValueExpression(context, "${1 + 2}", String.class);
+        assertEquals("3", asString.getValue(context));
+        ValueExpression asLong = factory.createValueExpression(context, "${1 + 2}", long.class);
+        assertEquals(Long.valueOf(3), asLong.getValue(context));
+        ValueExpression asBoolean = factory.createValueExpression(context, "${1 < 2}", Boolean.class);
+        assertEquals(Boolean.TRUE, asBoolean.getValue(context));
+    }
 }
@@ -166,6 +166,19 @@ public class OverloadedMethodTest {
             e.printStackTrace(System.out);
         }
     }
+
+
+    @Test
+    public void testMethodExprInvokingWithVarArgs() {
+        MethodExpression methodExpr = exprFactory.createMethodExpression(
+                elContext,
+                "${foo.methodWithExactVarArgs}",
+                String.class,
+                new Class<?>[]{String.class, String[].class});
+        assertEquals("a,b,c,", methodExpr.invoke(elContext, new Object[]{"a", "b", "c"}));
+        assertEquals("a,b,", methodExpr.invoke(elContext, new Object[]{"a", new String[]{"b"}}));
+        assertEquals("a,1,", methodExpr.invoke(elContext, new Object[]{"a", 1L}));
+    }
     
     
     public static interface I1 {
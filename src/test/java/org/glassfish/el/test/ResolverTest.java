@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.el.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.expressly.beans.AccessorELResolver;
+import org.glassfish.expressly.beans.BeanELResolverImpl;
+import org.glassfish.expressly.beans.ELAccessible;
+import org.glassfish.expressly.lang.AdaptiveCompositeELResolver;
+import org.glassfish.expressly.lang.StandardELContextImpl;
+import org.glassfish.expressly.lang.StandardResolvers;
+import org.glassfish.expressly.stream.StreamELResolver;
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.el.BeanELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELManager;
+import jakarta.el.ELProcessor;
+import jakarta.el.ELResolver;
+import jakarta.el.EvaluationListener;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.PropertyNotFoundException;
+import jakarta.el.PropertyNotWritableException;
+import jakarta.el.StandardELContext;
+import jakarta.el.VariableMapper;
+
+/**
+ * Tests the resolvers of this implementation, and the resolution of the elements of maps, lists and arrays.
+ */
+public class ResolverTest {
+
+    ELProcessor elp;
+
+    @Before
+    public void setUp() {
+        System.setProperty("jakarta.el.ExpressionFactory", "org.glassfish.expressly.ExpressionFactoryImpl");
+        elp = new ELProcessor();
+    }
+
+    @Test
+    public void testGeneratedAccessors() {
+        elp.getELManager().addELResolver(new AccessorELResolver());
+        Account account = new Account();
+        elp.defineBean("account", account);
+
+        assertTrue(AccessorELResolver.getAccessors(Account.class) != null);
+        elp.setValue("account.owner", "Bob");
+        elp.setValue("account.balance", 10);
+        assertEquals("Bob", elp.eval("account.owner"));
+        assertEquals(Integer.valueOf(13), elp.getValue("account.deposit(3)", Integer.class));
+        assertEquals(Integer.class, elp.getValue("account.balance", Object.class).getClass());
+        assertEquals(true, elp.eval("account.open"));
+        assertEquals("Bob:13", elp.eval("account.toString()"));
+
+        boolean caught = false;
+        try {
+            elp.setValue("account.open", false);
+        } catch (PropertyNotWritableException ex) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+    @Test
+    public void testBeanResolver() {
+        elp.getELManager().addELResolver(new BeanELResolverImpl());
+        Holder holder = new Holder();
+        elp.defineBean("holder", holder);
+        elp.defineBean("point", new Point(3, 4));
+        elp.defineBean("map", new HashMap<>(Map.of("empty", "key")));
+
+        elp.setValue("holder.value", "12");
+        assertEquals(12, holder.getValue());
+        assertEquals(Integer.valueOf(12), elp.getValue("holder.value", Integer.class));
+        assertEquals(Integer.valueOf(7), elp.getValue("point.x + point.y", Integer.class));
+        assertEquals("key", elp.eval("map['empty']"));
+        assertEquals(Long.valueOf(3), elp.eval("[1, 2, 3].stream().count()"));
+        ELContext context = elp.getELManager().getELContext();
+        assertTrue(context.getELResolver().isReadOnly(context, new Point(1, 2), "x"));
+
+        // Left to the standard BeanELResolver, which reports it
+        boolean caught = false;
+        try {
+            elp.eval("holder.missing");
+        } catch (PropertyNotFoundException ex) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+    @Test
+    public void testAdaptiveResolver() {
+        AdaptiveCompositeELResolver resolver = new AdaptiveCompositeELResolver();
+        resolver.add(new MapELResolver());
+        resolver.add(new ListELResolver());
+        resolver.add(new SpecialELResolver());
+        resolver.add(new BeanELResolver());
+        ELContext context = elp.getELManager().getELContext();
+        Holder holder = new Holder(5);
+
+        // The MapELResolver and the ListELResolver never resolve holders, so the recorded resolver is asked first
+        assertEquals("special", resolver.getValue(context, holder, "special"));
+        assertEquals(1, resolver.getMisses());
+        assertEquals("special", resolver.getValue(context, holder, "special"));
+        assertEquals(1, resolver.getHits());
+        assertEquals(2, resolver.getSavedProbes());
+
+        // The recorded resolver does not resolve the property, so all the resolvers are asked in order
+        assertEquals(5, resolver.getValue(context, holder, "value"));
+        assertTrue(context.isPropertyResolved());
+        assertEquals(2, resolver.getMisses());
+
+        // The resolver before the recorded BeanELResolver may resolve holders, so it is still asked first
+        assertEquals(5, resolver.getValue(context, holder, "value"));
+        assertEquals("special", resolver.getValue(context, holder, "special"));
+        assertEquals(4, resolver.getMisses());
+        assertEquals(1, resolver.getHits());
+        assertEquals(2, resolver.getSavedProbes());
+
+        assertEquals("one", resolver.getValue(context, Map.of("a", "one"), "a"));
+        assertEquals(5, resolver.getMisses());
+
+        assertNull(new StreamELResolver().invoke(context, null, "stream", null, new Object[0]));
+    }
+
+    @Test
+    public void testCollectionElements() {
+        elp.defineBean("config", Map.of("server", Map.of("ports", List.of(80, 443))));
+        elp.defineBean("ints", new int[] { 3, 5, 7 });
+        elp.defineBean("chars", new char[] { 'a', 'b' });
+        elp.defineBean("doubles", new double[] { 0.5 });
+        elp.defineBean("names", new String[] { "first" });
+        elp.defineBean("i", 2);
+
+        assertEquals(Integer.valueOf(443), elp.eval("config['server']['ports'][1]"));
+        assertEquals(Integer.valueOf(443), elp.eval("config.server.ports[1]"));
+        assertNull(elp.eval("config['server']['ports'][2]"));
+        assertNull(elp.eval("config['client']"));
+        assertEquals(Integer.valueOf(7), elp.eval("ints[i]"));
+        assertNull(elp.eval("ints[-1]"));
+        assertEquals(Character.valueOf('b'), elp.eval("chars[1]"));
+        assertEquals(Double.valueOf(0.5), elp.eval("doubles[0]"));
+        assertEquals("first", elp.eval("names[0]"));
+        assertNull(elp.eval("names[1]"));
+        // Indexes that are not numbers are coerced by the resolvers
+        assertEquals(Integer.valueOf(80), elp.eval("config.server.ports['0']"));
+        assertEquals(Integer.valueOf(3), elp.eval("ints.length"));
+
+        List<Object> resolved = new ArrayList<>();
+        elp.getELManager().addEvaluationListener(new EvaluationListener() {
+            @Override
+            public void propertyResolved(ELContext context, Object base, Object property) {
+                resolved.add(property);
+            }
+        });
+        elp.eval("ints[0]");
+        assertEquals(List.of("ints", 0L), resolved);
+
+        // The ListELResolver cannot coerce the index
+        boolean caught = false;
+        try {
+            elp.eval("config.server.ports['first']");
+        } catch (IllegalArgumentException ex) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+    @Test
+    public void testStandardContext() {
+        ExpressionFactory factory = ELManager.getExpressionFactory();
+        StandardELContextImpl context = new StandardELContextImpl(factory);
+        VariableMapper variables = context.getVariableMapper();
+        variables.setVariable("m", factory.createValueExpression(Map.of("k", "v"), Map.class));
+        variables.setVariable("ints", factory.createValueExpression(new int[] { 3, 5, 7 }, int[].class));
+        variables.setVariable("doubles", factory.createValueExpression(new double[] { 0.5 }, double[].class));
+        variables.setVariable("names", factory.createValueExpression(new String[] { "first" }, String[].class));
+        assertTrue(StandardResolvers.isStandard(context));
+
+        // The elements are read directly
+        assertEquals("v", eval(factory, context, "${m['k']}"));
+        assertEquals(Integer.valueOf(7), eval(factory, context, "${ints[2]}"));
+        assertNull(eval(factory, context, "${ints[3]}"));
+        assertEquals(Double.valueOf(0.5), eval(factory, context, "${doubles[0]}"));
+        assertEquals("first", eval(factory, context, "${names[0]}"));
+        assertEquals(Long.valueOf(8), eval(factory, context, "${ints[0] + ints[1]}"));
+
+        // They are then read with the resolvers of the context
+        context.addELResolver(new MapELResolver() {
+            @Override
+            public Object getValue(ELContext context, Object base, Object property) {
+                if (base instanceof Map) {
+                    context.setPropertyResolved(base, property);
+                    return "intercepted";
+                }
+                return null;
+            }
+        });
+        assertFalse(StandardResolvers.isStandard(context));
+        assertEquals("intercepted", eval(factory, context, "${m['k']}"));
+
+        // The resolvers of the contexts of the API are not known
+        assertFalse(StandardResolvers.isStandard(elp.getELManager().getELContext()));
+        assertFalse(StandardResolvers.isStandard(new StandardELContext(factory)));
+    }
+
+    private static Object eval(ExpressionFactory factory, ELContext context, String expression) {
+        return factory.createValueExpression(context, expression, Object.class).getValue(context);
+    }
+
+    /*
+     * Resolves the property "special" of holders, and nothing else, although it reports no common property type, as
+     * many resolvers do.
+     */
+    static class SpecialELResolver extends ELResolver {
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (base instanceof Holder && "special".equals(property)) {
+                context.setPropertyResolved(base, property);
+                return "special";
+            }
+            return null;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return null;
+        }
+    }
+
+    public record Point(int x, int y) {
+    }
+
+    @ELAccessible
+    static public class Account {
+        private String owner;
+        private int balance;
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+
+        public int getBalance() {
+            return balance;
+        }
+
+        public void setBalance(int balance) {
+            this.balance = balance;
+        }
+
+        public boolean isOpen() {
+            return true;
+        }
+
+        public int deposit(int amount) {
+            balance += amount;
+            return balance;
+        }
+
+        @Override
+        public String toString() {
+            return owner + ":" + balance;
+        }
+    }
+}
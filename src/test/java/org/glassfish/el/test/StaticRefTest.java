@@ -18,6 +18,7 @@
 package org.glassfish.el.test;
 
 import jakarta.el.ELProcessor;
+import jakarta.el.PropertyNotFoundException;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -72,4 +73,21 @@ public class StaticRefTest {
     public void testStaticMethod() {
         assertEquals(Integer.valueOf(4), elp.eval("Integer.numberOfTrailingZeros(16)"));
     }
+
+    @Test
+    public void testStaticImportPerImportHandler() {
+        elp.getELManager().importStatic("java.lang.Integer.MAX_VALUE");
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE), elp.eval("MAX_VALUE"));
+
+        ELProcessor other = new ELProcessor();
+        try {
+            other.eval("MAX_VALUE");
+            fail("MAX_VALUE is not imported");
+        } catch (PropertyNotFoundException ex) {
+            // expected
+        }
+
+        other.getELManager().importStatic("java.lang.Integer.MAX_VALUE");
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE), other.eval("MAX_VALUE"));
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.el.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.glassfish.expressly.LValue;
+import org.glassfish.expressly.ValueExpressionImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import jakarta.el.ELManager;
+import jakarta.el.ELProcessor;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.MethodExpression;
+import jakarta.el.TypeConverter;
+import jakarta.el.ValueExpression;
+
+/**
+ * Tests the creation of value expressions, and their lvalues.
+ */
+public class ValueExpressionTest {
+
+    ELProcessor elp;
+    ExpressionFactory factory;
+    ELContext ctxt;
+
+    @Before
+    public void setUp() {
+        System.setProperty("jakarta.el.ExpressionFactory", "org.glassfish.expressly.ExpressionFactoryImpl");
+        elp = new ELProcessor();
+        factory = ELManager.getExpressionFactory();
+        ctxt = elp.getELManager().getELContext();
+    }
+
+    @Test
+    public void testLValue() {
+        Holder holder = new Holder();
+        elp.defineBean("holder", holder);
+        ValueExpressionImpl expr = (ValueExpressionImpl) factory.createValueExpression(ctxt, "#{holder.value}", Object.class);
+
+        LValue lvalue = expr.getLValue(ctxt);
+        assertEquals(holder, lvalue.getBase());
+        assertEquals("value", lvalue.getProperty());
+        assertEquals(int.class, lvalue.getType());
+        assertFalse(lvalue.isReadOnly());
+        lvalue.setValue("12");
+        assertEquals(12, holder.getValue());
+
+        // The type kept for the bean class is used for another lvalue
+        expr.getLValue(ctxt).setValue(13L);
+        assertEquals(13, holder.getValue());
+
+        elp.defineBean("holder", new HashMap<String, Object>());
+        lvalue = expr.getLValue(ctxt);
+        lvalue.setValue("12");
+        assertEquals("12", expr.getValue(ctxt));
+    }
+
+    @Test
+    public void testExpressionEquality() {
+        ValueExpression ve1 = factory.createValueExpression(ctxt, "#{a.b + c[1]}", Object.class);
+        ValueExpression ve2 = factory.createValueExpression(ctxt, "#{a.b + c[1]}", Object.class);
+        ValueExpression ve3 = factory.createValueExpression(ctxt, "#{ a.b+c[1] }", Object.class);
+        ValueExpression ve4 = factory.createValueExpression(ctxt, "#{a.b + c[2]}", Object.class);
+        assertEquals(ve1, ve2);
+        assertEquals(ve1.hashCode(), ve2.hashCode());
+        assertEquals(ve1, ve3);
+        assertEquals(ve1.hashCode(), ve3.hashCode());
+        assertNotEquals(ve1, ve4);
+
+        MethodExpression me1 = factory.createMethodExpression(ctxt, "#{a.b.run}", Object.class, new Class<?>[0]);
+        MethodExpression me2 = factory.createMethodExpression(ctxt, "#{ a.b.run }", Object.class, new Class<?>[0]);
+        MethodExpression me3 = factory.createMethodExpression(ctxt, "#{a.c.run}", Object.class, new Class<?>[0]);
+        assertEquals(me1, me2);
+        assertEquals(me1.hashCode(), me2.hashCode());
+        assertNotEquals(me1, me3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypedValuesConvertedByResolvers() {
+        ValueExpressionImpl sum = (ValueExpressionImpl) factory.createValueExpression(ctxt, "#{1 + 2}", Long.class);
+        assertEquals(Long.valueOf(3), sum.getValue(ctxt));
+        assertEquals(3L, sum.getLong(ctxt));
+
+        // A value of the expected type is still converted by the resolvers of the context
+        elp.getELManager().addELResolver(new TypeConverter() {
+            @Override
+            public <T> T convertToType(ELContext context, Object obj, Class<T> type) {
+                if (type == Long.class || type == Long.TYPE) {
+                    context.setPropertyResolved(true);
+                    return (T) Long.valueOf(42);
+                }
+                return null;
+            }
+        });
+        assertEquals(Long.valueOf(42), sum.getValue(ctxt));
+        assertEquals(42L, sum.getLong(ctxt));
+    }
+
+    @Test
+    public void testLiteralText() {
+        ValueExpression text = factory.createValueExpression(ctxt, "Submit", Object.class);
+        assertTrue(text.isLiteralText());
+        assertEquals("Submit", text.getValue(ctxt));
+        assertEquals(String.class, text.getType(ctxt));
+        assertEquals("Submit", text.getExpressionString());
+        assertTrue(text.isReadOnly(ctxt));
+
+        ValueExpression number = factory.createValueExpression(ctxt, "010", Integer.class);
+        assertEquals(Integer.valueOf(10), number.getValue(ctxt));
+        ValueExpression flag = factory.createValueExpression(ctxt, "true", boolean.class);
+        assertEquals(Boolean.TRUE, flag.getValue(ctxt));
+
+        ValueExpression invalid = factory.createValueExpression(ctxt, "ten", Integer.class);
+        boolean caught = false;
+        try {
+            invalid.getValue(ctxt);
+        } catch (ELException ex) {
+            caught = true;
+        }
+        assertTrue(caught);
+
+        // Text with escaped delimiters is still parsed
+        ValueExpression escaped = factory.createValueExpression(ctxt, "\\${x}", Object.class);
+        assertTrue(escaped.isLiteralText());
+        assertEquals("${x}", escaped.getValue(ctxt));
+    }
+
+    @Test
+    public void testVariablesCapturedAtCreation() {
+        ValueExpression noReference = factory.createValueExpression(ctxt, "#{1 + 2}", Object.class);
+        assertEquals(Long.valueOf(3), noReference.getValue(ctxt));
+
+        elp.setVariable("captured", "1");
+        ValueExpression first = factory.createValueExpression(ctxt, "#{captured + 1}", Object.class);
+        elp.setVariable("captured", "2");
+        ValueExpression second = factory.createValueExpression(ctxt, "#{captured + 1}", Object.class);
+        assertEquals(Long.valueOf(2), first.getValue(ctxt));
+        assertEquals(Long.valueOf(3), second.getValue(ctxt));
+    }
+}